@@ -50,6 +50,12 @@ dependencies {
     implementation("org.jdbi:jdbi3-sqlobject:3.49.5")
     implementation("com.zaxxer:HikariCP:5.1.0")
     compileOnly("org.xerial:sqlite-jdbc:3.46.0.1")
+
+    // Tests
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("com.h2database:h2:2.3.232")
 }
 
 java {
@@ -73,6 +79,10 @@ tasks {
         dependsOn(shadowJar)
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     runServer {
         minecraftVersion("1.21.8")
     }
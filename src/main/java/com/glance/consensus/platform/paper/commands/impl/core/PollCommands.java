@@ -33,7 +33,6 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Singleton
 @AutoService(CommandHandler.class)
@@ -71,25 +70,12 @@ public class PollCommands implements CommandHandler {
             } catch (IllegalArgumentException ignored) {}
         }
 
-        Collection<PollRuntime> source = switch (scope) {
-            case ACTIVE -> manager.active();
-            case CLOSED -> manager.closed();
-            case ALL -> manager.all();
-        };
-
-        var ids = source.stream()
-            .map(rt -> rt.getPoll().getPollIdentifier())
-            .sorted()
-            .collect(Collectors.toCollection(ArrayList::new));
+        var ids = new ArrayList<>(manager.identifiers(scope, prefix));
 
-        if (scope == PollListOption.ACTIVE || scope == PollListOption.ALL) {
+        if ((scope == PollListOption.ACTIVE || scope == PollListOption.ALL) && "latest".startsWith(prefix)) {
             ids.addFirst("latest");
         }
-
-        if (prefix.isEmpty()) return ids;
-        return ids.stream()
-            .filter(s -> s.toLowerCase(Locale.ROOT).startsWith(prefix))
-            .toList();
+        return ids;
     }
 
     @Command("polls")
@@ -221,8 +207,8 @@ public class PollCommands implements CommandHandler {
         Instant now = Instant.now();
         var option = listOption != null ? listOption : PollListOption.ALL;
         List<PollRuntime> items = switch (option) {
-            case ACTIVE -> sort(manager.active());
-            case CLOSED -> sort(manager.closed());
+            case ACTIVE -> List.copyOf(manager.active());
+            case CLOSED -> List.copyOf(manager.closed());
             case ALL -> sort(manager.all());
         };
 
@@ -310,8 +296,8 @@ public class PollCommands implements CommandHandler {
 
     private Optional<UUID> resolvePollId(String raw) {
         if ("latest".equalsIgnoreCase(raw)) {
-            return manager.active().stream()
-                .min(Comparator.comparing(rt -> rt.getPoll().getCreatedAt()))
+            return manager.activeByCreation().stream()
+                .findFirst()
                 .map(rt -> rt.getPoll().getId());
         }
 
@@ -321,13 +307,10 @@ public class PollCommands implements CommandHandler {
         } catch (IllegalArgumentException ignored) {}
         if (asUuid.isPresent()) return asUuid;
 
-        return manager.all()
+        return manager.findByIdentifier(raw.trim())
                 .stream()
-                .map(PollRuntime::getPoll)
-                .filter(p -> raw.trim().equals(p.getPollIdentifier()))
-                .sorted(Comparator.comparing(Poll::getCreatedAt).reversed())
-                .map(Poll::getId)
-                .findFirst();
+                .findFirst()
+                .map(rt -> rt.getPoll().getId());
     }
 
     // TODO move these to a proper util
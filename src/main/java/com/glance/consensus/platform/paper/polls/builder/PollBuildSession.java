@@ -61,7 +61,7 @@ public final class PollBuildSession {
         @Nullable String tooltipRaw
     ) {
         if (!canAddAnswer()) throw new IllegalStateException("Max poll answers reached");
-        PollOption option = new PollOption(answers.size(), labelRaw, StringUtils.emptyToNull(tooltipRaw), 0);
+        PollOption option = new PollOption(answers.size(), labelRaw, StringUtils.emptyToNull(tooltipRaw));
         answers.add(option);
         return option;
     }
@@ -79,7 +79,7 @@ public final class PollBuildSession {
         } else {
             PollOption existing = answers.get(index);
             PollOption updated = new PollOption(
-                    existing.index(), labelRaw, StringUtils.emptyToNull(tooltipRaw), 0);
+                    existing.index(), labelRaw, StringUtils.emptyToNull(tooltipRaw));
             answers.set(index, updated);
             reindex();
             return updated;
@@ -137,7 +137,7 @@ public final class PollBuildSession {
     private void reindex() {
         for (int i = 0; i < answers.size(); i++) {
             var o = answers.get(i);
-            if (o.index() != i) answers.set(i, new PollOption(i, o.labelRaw(), o.tooltipRaw(), o.votes()));
+            if (o.index() != i) answers.set(i, new PollOption(i, o.labelRaw(), o.tooltipRaw()));
         }
     }
 
@@ -2,18 +2,24 @@ package com.glance.consensus.platform.paper.polls.display;
 
 import com.glance.consensus.platform.paper.module.Manager;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
 import com.glance.consensus.platform.paper.polls.runtime.PollRuntime;
 import com.glance.consensus.platform.paper.polls.runtime.VoteManager;
 import com.glance.consensus.platform.paper.polls.utils.RuleUtils;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import com.glance.consensus.platform.paper.utils.Mini;
 import com.google.auto.service.AutoService;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Singleton
@@ -22,28 +28,38 @@ public class DefaultPollDisplayNavigator implements PollDisplayNavigator {
 
     private final Map<PollDisplay.Mode, PollDisplay> displays;
     private final VoteManager voteManager;
+    private final Provider<PollStorage> storage;
+    private final Plugin plugin;
 
     @Inject
     public DefaultPollDisplayNavigator(
         @NotNull Map<PollDisplay.Mode, PollDisplay> displays,
-        @NotNull VoteManager voteManager
+        @NotNull VoteManager voteManager,
+        @NotNull Provider<PollStorage> storage,
+        @NotNull Plugin plugin
     ) {
         this.voteManager = voteManager;
         this.displays = displays;
+        this.storage = storage;
+        this.plugin = plugin;
     }
 
     @Override
     public void openVoting(@NotNull Player player, @NotNull PollRuntime runtime) {
-        PollDisplay display = displayFor(runtime);
-        PollRules effective = RuleUtils.effectiveRules(player, runtime.getPoll().getRules());
-        display.openVoting(player, runtime, effective);
+        withViewerSelection(player, runtime, () -> {
+            PollDisplay display = displayFor(runtime);
+            PollRules effective = RuleUtils.effectiveRules(player, runtime.getPoll().getRules());
+            display.openVoting(player, runtime, effective);
+        });
     }
 
     @Override
     public void openResults(@NotNull Player player, @NotNull PollRuntime runtime) {
-        PollDisplay display = displayFor(runtime);
-        PollRules effective = RuleUtils.effectiveRules(player, runtime.getPoll().getRules());
-        display.openResults(player, runtime, effective);
+        withViewerSelection(player, runtime, () -> {
+            PollDisplay display = displayFor(runtime);
+            PollRules effective = RuleUtils.effectiveRules(player, runtime.getPoll().getRules());
+            display.openResults(player, runtime, effective);
+        });
     }
 
     @Override
@@ -52,8 +68,31 @@ public class DefaultPollDisplayNavigator implements PollDisplayNavigator {
         @NotNull PollRuntime runtime,
         PollDisplay.@NotNull RefreshCause cause
     ) {
-        PollDisplay display = displayFor(runtime);
-        display.refresh(player, runtime, cause);
+        withViewerSelection(player, runtime, () -> displayFor(runtime).refresh(player, runtime, cause));
+    }
+
+    /**
+     * Runs {@code open} once the viewer's own selection is known
+     * <p>Closed polls loaded from stored tallies don't hold their voters, so the one viewer's
+     * selection is read first (and kept) and the view opens on the main thread afterwards</p>
+     */
+    private void withViewerSelection(@NotNull Player player, @NotNull PollRuntime runtime, @NotNull Runnable open) {
+        final UUID viewer = player.getUniqueId();
+        if (!runtime.needsViewerSelection(viewer)) {
+            open.run();
+            return;
+        }
+
+        storage.get().loadVoterSelection(runtime.getPoll().getId(), viewer).whenComplete((sel, ex) -> {
+            if (ex != null) {
+                log.warn("Failed to load {}'s selection for poll {}", viewer, runtime.getPoll().getPollIdentifier(), ex);
+            } else {
+                runtime.putViewerSelection(viewer, SelectionMasks.toMask(sel));
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) open.run();
+            });
+        });
     }
 
     @Override
@@ -8,9 +8,9 @@ import com.glance.consensus.platform.paper.polls.display.format.AlignmentUtils;
 import com.glance.consensus.platform.paper.polls.display.format.PollTextBuilder;
 import com.glance.consensus.platform.paper.polls.display.format.VoteBadgeUtils;
 import com.glance.consensus.platform.paper.polls.domain.Poll;
-import com.glance.consensus.platform.paper.polls.domain.PollOption;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
 import com.glance.consensus.platform.paper.polls.runtime.PollRuntime;
+import com.glance.consensus.platform.paper.polls.runtime.ResultsSnapshot;
 import com.glance.consensus.platform.paper.polls.utils.RuleUtils;
 import com.glance.consensus.platform.paper.utils.ComponentUtils;
 import com.glance.consensus.platform.paper.utils.Mini;
@@ -163,11 +163,12 @@ public final class BookPollDisplay implements PollDisplay {
     ) {
         final Poll poll = runtime.getPoll();
         final PollRules rules = RuleUtils.effectiveRules(viewer, poll.getRules());
-        final List<PollOption> options = poll.getOptions();
+        final List<PollTextBuilder.RenderedOption> options = PollTextBuilder.rendered(poll.getDefinition()).options();
 
         final Set<Integer> viewerVotes = runtime.selectionSnapshot(viewer.getUniqueId());
 
-        final int totalVotes = Math.max(0, options.stream().mapToInt(PollOption::votes).sum());
+        final ResultsSnapshot results = runtime.results();
+        final int totalVotes = results.totalVotes();
 
         List<Component> page = new ArrayList<>(PollTextBuilder.formatQuestion(
                 poll,
@@ -183,15 +184,15 @@ public final class BookPollDisplay implements PollDisplay {
         for (var opt : options) {
             page.add(BookUtils.SIDE_DIVIDER);
 
-            final int votes = opt.votes();
+            final int votes = results.votes(opt.index());
             final boolean selected = viewerVotes.contains(opt.index());
 
             String badge = VoteBadgeUtils.resultsBadgeRaw(votes, totalVotes,
                     VoteBadgeUtils.ResultsMode.COUNT, selected, VoteBadgeUtils.Theme.defaultResults());
 
-            var aligned = AlignmentUtils.alignSides(badge, opt.labelRaw());
+            var aligned = AlignmentUtils.alignSides(badge, opt.option().labelRaw(), opt.label(), opt.labelWidth());
 
-            Component optHover = buildOptionResultsHover(opt, votes, totalVotes, selected);
+            Component optHover = buildOptionResultsHover(opt, votes, results.percent(opt.index()), selected);
 
             // todo truncated situation
             page.add(aligned.value().hoverEvent(optHover));
@@ -203,15 +204,14 @@ public final class BookPollDisplay implements PollDisplay {
     }
 
     private @NotNull Component buildOptionResultsHover(
-        @NotNull PollOption opt,
+        @NotNull PollTextBuilder.RenderedOption opt,
         int votes,
-        int totalVotes,
+        double pct,
         boolean selected
     ) {
-        double pct = totalVotes == 0 ? 0.0 : (votes * 100.0) / totalVotes;
         int barLength = (int) Math.round((pct / 100.0) * MAX_RESULTS_BAR_LEN);
 
-        Component tooltip = (opt.tooltipRaw() != null) ? Mini.parseMini(opt.tooltipRaw()) : Component.empty();
+        Component tooltip = (opt.tooltip() != null) ? opt.tooltip() : Component.empty();
 
         Component stats = Component.text()
                 .append(Mini.parseMini("<gray>[</gray>" + barBlock(barLength) + "<gray>]</gray> "))
@@ -223,7 +223,7 @@ public final class BookPollDisplay implements PollDisplay {
                 .build();
 
         var hover = Component.text()
-                .append(Mini.parseMini("<white><bold>" + opt.labelRaw() + "<reset>"))
+                .append(Mini.parseMini("<white><bold>" + opt.option().labelRaw() + "<reset>"))
                 .append(Component.text("\n"));
 
         if (!ComponentUtils.isVisuallyEmpty(tooltip)) {
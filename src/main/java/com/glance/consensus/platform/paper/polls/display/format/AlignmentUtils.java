@@ -83,12 +83,26 @@ public class AlignmentUtils {
         @NotNull String leftRaw,
         @NotNull String rightRaw
     ) {
-        final Component left = Mini.parseMini(leftRaw);
         final Component right = Mini.parseMini(rightRaw);
+        return alignSides(leftRaw, rightRaw, right, pixelWidth(right));
+    }
+
+    /**
+     * {@link #alignSides(String, String)} with the right side already parsed and measured
+     *
+     * @param rightRaw raw form of {@code right}, used only if the line has to be truncated
+     * @param rightPx pixel width of {@code right}
+     */
+    public TruncationUtils.TruncateResult alignSides(
+        @NotNull String leftRaw,
+        @NotNull String rightRaw,
+        @NotNull Component right,
+        int rightPx
+    ) {
+        final Component left = Mini.parseMini(leftRaw);
 
         final int spacePx = glyphWidth(' ', false);
         final int leftPx = pixelWidth(left);
-        final int rightPx = pixelWidth(right);
 
         final int minTotalPx = leftPx + spacePx + rightPx;
 
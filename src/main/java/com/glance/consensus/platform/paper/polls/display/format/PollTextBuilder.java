@@ -1,8 +1,12 @@
 package com.glance.consensus.platform.paper.polls.display.format;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.glance.consensus.platform.paper.polls.display.PollDisplayNavigator;
 import com.glance.consensus.platform.paper.polls.display.book.builder.BookUtils;
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollDefinition;
+import com.glance.consensus.platform.paper.polls.domain.PollOption;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
 import com.glance.consensus.platform.paper.polls.utils.RuleUtils;
 import com.glance.consensus.platform.paper.utils.ComponentUtils;
@@ -32,6 +36,58 @@ public class PollTextBuilder {
     public final int TARGET_OPTIONS = 6;
     public final int LINES_PER_OPTION_MISSING = 2;
 
+    /** Parsed forms per definition; definitions are immutable, so entries never go stale */
+    private final Cache<PollDefinition, Rendered> RENDERED = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * A definition's MiniMessage, parsed and measured once instead of on every render
+     *
+     * @param question full parsed question
+     * @param questionLine question centred (and truncated if needed) to one book line
+     * @param options options in index order
+     */
+    public record Rendered(
+        @NotNull Component question,
+        @NotNull TruncationUtils.TruncateResult questionLine,
+        @NotNull List<RenderedOption> options
+    ) {}
+
+    /**
+     * @param label parsed {@link PollOption#labelRaw()}
+     * @param labelWidth book pixel width of {@code label}
+     * @param tooltip parsed tooltip, null when absent or visually empty
+     */
+    public record RenderedOption(
+        @NotNull PollOption option,
+        @NotNull Component label,
+        int labelWidth,
+        @Nullable Component tooltip
+    ) {
+        public int index() {
+            return option.index();
+        }
+    }
+
+    public @NotNull Rendered rendered(@NotNull PollDefinition def) {
+        return RENDERED.get(def, PollTextBuilder::render);
+    }
+
+    private Rendered render(PollDefinition def) {
+        List<RenderedOption> opts = new ArrayList<>(def.getOptions().size());
+        for (PollOption o : def.getOptions()) {
+            Component label = Mini.parseMini(o.labelRaw());
+            Component tooltip = o.tooltipRaw() != null ? Mini.parseMini(o.tooltipRaw()) : null;
+            if (tooltip != null && ComponentUtils.isVisuallyEmpty(tooltip)) tooltip = null;
+            opts.add(new RenderedOption(o, label, AlignmentUtils.pixelWidth(label), tooltip));
+        }
+        return new Rendered(
+            Mini.parseMini(def.getQuestionRaw()),
+            AlignmentUtils.alignAndTruncate(def.getQuestionRaw(), TextAlign.CENTER),
+            List.copyOf(opts));
+    }
+
     @Data
     public final class Options {
         private final boolean preview;
@@ -91,7 +147,8 @@ public class PollTextBuilder {
     ) {
         List<Component> out = new ArrayList<>();
 
-        var parsed = center(poll.getQuestionRaw());
+        final Rendered rendered = rendered(poll.getDefinition());
+        var parsed = rendered.questionLine();
         Component line = parsed.value();
 
         final boolean showHint = options.includeSelectionHover && !options.preview && !options.results;
@@ -108,7 +165,7 @@ public class PollTextBuilder {
 
         // If the title was truncated, add the full question on a new line
         if (parsed.truncated()) {
-            hoverLines.add(Mini.parseMini(poll.getQuestionRaw()));
+            hoverLines.add(rendered.question());
         }
 
         List<Component> activity = activityLore(poll, !hoverLines.isEmpty());
@@ -179,7 +236,7 @@ public class PollTextBuilder {
 
         final Set<Integer> voted = (viewerVotes != null) ? viewerVotes : Set.of();
 
-        for (var opt : poll.getOptions()) {
+        for (var opt : rendered(poll.getDefinition()).options()) {
             answers.add(BookUtils.SIDE_DIVIDER);
 
             final int idx = opt.index();
@@ -190,13 +247,11 @@ public class PollTextBuilder {
                     VoteBadgeUtils.VoteStyle.CHECKBOX,
                     VoteBadgeUtils.Theme.defaultVote());
 
-            var answerParsed = sides(badge, opt.labelRaw());
+            var answerParsed = sides(badge, opt);
 
-            Component tooltip = opt.tooltipRaw() != null
-                    ? Mini.parseMini(opt.tooltipRaw())
-                    : Component.empty();
-            boolean hasTooltip = !ComponentUtils.isVisuallyEmpty(tooltip);
-            Component fullLabel = Mini.parseMini(opt.labelRaw());
+            Component tooltip = opt.tooltip() != null ? opt.tooltip() : Component.empty();
+            boolean hasTooltip = opt.tooltip() != null;
+            Component fullLabel = opt.label();
 
             Component hoverComp;
             if (answerParsed.truncated()) {
@@ -299,13 +354,10 @@ public class PollTextBuilder {
         return Component.text("\n\n");
     }
 
-    private TruncationUtils.TruncateResult sides(@NotNull String left, @NotNull String right) {
-        return  AlignmentUtils.alignSides(left, right);
+    private TruncationUtils.TruncateResult sides(@NotNull String left, @NotNull RenderedOption right) {
+        return AlignmentUtils.alignSides(left, right.option().labelRaw(), right.label(), right.labelWidth());
     }
 
-    private TruncationUtils.TruncateResult center(@NotNull String raw) {
-        return AlignmentUtils.alignAndTruncate(raw, TextAlign.CENTER);
-    }
     private TruncationUtils.TruncateResult left(@NotNull String raw) {
         return AlignmentUtils.alignAndTruncate(raw, TextAlign.LEFT);
     }
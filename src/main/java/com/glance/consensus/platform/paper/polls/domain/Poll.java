@@ -1,6 +1,7 @@
 package com.glance.consensus.platform.paper.polls.domain;
 
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -9,46 +10,74 @@ import java.util.List;
 import java.util.UUID;
 
 /**
- * Represents a single poll
+ * Represents a single poll: its frozen {@link PollDefinition} plus lifecycle state
  * <p>Fields:</p>
  * <ul>
- *     <li><b>id</b> - Unique id for this poll (UUID)</li>
- *     <li><b>pollIdentifier</b> - Optional readable ID for this poll - defaults to the UUID id</li>
- *     <li><b>owner</b> - Unique id of the owner for this poll (UUID)</li>
- *     <li><b>questionRaw</b> - The poll question in raw MiniMessage/placeholder format</li>
- *     <li><b>createdAt</b> - Timestamp the poll was created</li>
- *     <li><b>closesAt</b> - Timestamp the poll is scheduled to close (can be closed early)</li>
+ *     <li><b>definition</b> - Question, options, rules and schedule; never changes</li>
  *     <li><b>closedAt</b> - Timestamp the poll is actually closed (closed polls only)</li>
- *     <li><b>options</b> - List of {@code PollOption}s capturing label & vote counts</li>
  *     <li><b>closed</b> - If true, the poll no longer accepts votes, and is treated as completed</li>
  * </ul>
  *
+ * <p>Vote tallies are not part of the poll; they are owned by its runtime</p>
+ *
  * @author Cammy
  */
-@Data
+@Getter
 public final class Poll {
 
-    private final @NotNull UUID id;
-    private final @NotNull String pollIdentifier;
-    private final @NotNull UUID owner;
-    private final @NotNull String questionRaw; // MiniMessage supported
-    private final @NotNull Instant createdAt;
-    private final @NotNull Instant closesAt;
+    private final @NotNull PollDefinition definition;
     private final @Nullable Instant closedAt;
-    private final @NotNull List<PollOption> options;
-    private final @NotNull PollRules rules;
+    @Setter
     private volatile boolean closed = false;
 
+    public Poll(@NotNull PollDefinition definition, @Nullable Instant closedAt) {
+        this.definition = definition;
+        this.closedAt = closedAt;
+    }
+
+    /* ---- Definition shortcuts ---- */
+
+    public @NotNull UUID getId() {
+        return definition.getId();
+    }
+
+    /** Readable ID for this poll, defaults to the UUID id */
+    public @NotNull String getPollIdentifier() {
+        return definition.getPollIdentifier();
+    }
+
+    public @NotNull UUID getOwner() {
+        return definition.getOwner();
+    }
+
+    /** The poll question in raw MiniMessage/placeholder format */
+    public @NotNull String getQuestionRaw() {
+        return definition.getQuestionRaw();
+    }
+
+    public @NotNull Instant getCreatedAt() {
+        return definition.getCreatedAt();
+    }
+
+    /** Timestamp the poll is scheduled to close (can be closed early) */
+    public @NotNull Instant getClosesAt() {
+        return definition.getClosesAt();
+    }
+
+    /** Immutable, in index order */
+    public @NotNull List<PollOption> getOptions() {
+        return definition.getOptions();
+    }
+
+    public @NotNull PollRules getRules() {
+        return definition.getRules();
+    }
+
     @Override
     public String toString() {
         return "Poll{" +
-                "id=" + id +
-                ", owner=" + owner +
-                ", question='" + questionRaw + '\'' +
-                ", createdAt=" + createdAt +
-                ", closesAt=" + closesAt +
-                ", options=" + options.size() +
-                ", rules=" + rules +
+                "definition=" + definition +
+                ", closedAt=" + closedAt +
                 ", closed=" + closed +
                 '}';
     }
@@ -0,0 +1,64 @@
+package com.glance.consensus.platform.paper.polls.domain;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Frozen definition of a poll: everything that is fixed once the poll is created
+ *
+ * <p>Carries no vote state (tallies live in the poll's runtime) and no lifecycle state (see
+ * {@link Poll}), so one instance can be shared freely between threads and caches; the
+ * displays key their parsed forms of its MiniMessage on it</p>
+ *
+ * @author Cammy
+ */
+@Getter
+public final class PollDefinition {
+
+    private final @NotNull UUID id;
+    private final @NotNull String pollIdentifier;
+    private final @NotNull UUID owner;
+    private final @NotNull String questionRaw; // MiniMessage supported
+    private final @NotNull Instant createdAt;
+    private final @NotNull Instant closesAt;
+    private final @NotNull List<PollOption> options;
+    private final @NotNull PollRules rules;
+
+    public PollDefinition(
+        @NotNull UUID id,
+        @NotNull String pollIdentifier,
+        @NotNull UUID owner,
+        @NotNull String questionRaw,
+        @NotNull Instant createdAt,
+        @NotNull Instant closesAt,
+        @NotNull List<PollOption> options,
+        @NotNull PollRules rules
+    ) {
+        this.id = id;
+        this.pollIdentifier = pollIdentifier;
+        this.owner = owner;
+        this.questionRaw = questionRaw;
+        this.createdAt = createdAt;
+        this.closesAt = closesAt;
+        this.options = List.copyOf(options);
+        this.rules = rules;
+    }
+
+    @Override
+    public String toString() {
+        return "PollDefinition{" +
+                "id=" + id +
+                ", owner=" + owner +
+                ", question='" + questionRaw + '\'' +
+                ", createdAt=" + createdAt +
+                ", closesAt=" + closesAt +
+                ", options=" + options.size() +
+                ", rules=" + rules +
+                '}';
+    }
+
+}
@@ -10,30 +10,15 @@ import org.jetbrains.annotations.Nullable;
  * <ul>
  *   <li><b>index</b> - Zero-based position within the poll</li>
  *   <li><b>labelRaw</b> - Display label in raw MiniMessage format</li>
- *   <li><b>votes</b> - Total recorded votes for this option</li>
+ *   <li><b>tooltipRaw</b> - Optional hover text in raw MiniMessage format</li>
  * </ul>
  *
- * <p>Immutability:</p>
- * <ul>
- *   <li>Instances are immutable; use the provided {@link #withVotes(int)} or {@link #withAddedVotes(int)} to derive
- *       updated copies</li>
- * </ul>
+ * <p>Part of the immutable poll definition; vote counts live in the poll's runtime</p>
  *
  * @author Cammy
  */
 public record PollOption(
     int index,
     @NotNull String labelRaw,
-    @Nullable String tooltipRaw,
-    int votes
-) {
-    /** Returns a copy with an absolute vote count */
-    public PollOption withVotes(int newVotes) {
-        return new PollOption(index, labelRaw, tooltipRaw, newVotes);
-    }
-    /** Returns a copy with {@code addedVotes} added to the current count */
-    public PollOption withAddedVotes(int addedVotes) {
-        return new PollOption(index, labelRaw, tooltipRaw, this.votes + addedVotes);
-    }
-
-}
+    @Nullable String tooltipRaw
+) {}
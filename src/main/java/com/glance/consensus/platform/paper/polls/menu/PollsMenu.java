@@ -28,7 +28,6 @@ import org.jetbrains.annotations.NotNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -107,12 +106,9 @@ public class PollsMenu {
     /* ---- Index building / sorting ---- */
 
     private List<PollRuntime> buildIndex(@NotNull PollListOption scope) {
-        List<PollRuntime> active = new ArrayList<>(pollManager.active());
-        active.sort(Comparator.comparing(rt -> rt.getPoll().getClosesAt())); // soonest closing first
-
-        List<PollRuntime> closed = pollManager.closed().stream()
-                .sorted(Comparator.comparing((PollRuntime rt) -> rt.getPoll().getClosesAt()).reversed())
-                .toList();
+        // manager views are already ordered: soonest closing first, most recently closed first
+        List<PollRuntime> active = List.copyOf(pollManager.active());
+        List<PollRuntime> closed = List.copyOf(pollManager.closed());
 
         return switch (scope) {
             case ACTIVE -> active;
@@ -0,0 +1,37 @@
+package com.glance.consensus.platform.paper.polls.persistence;
+
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * One entry of the shared change log, see {@link PollChangeFeed}
+ *
+ * <p>Every entry carries the full resulting state for its key (a voter's whole selection,
+ * a close, a delete), so applying an entry twice is harmless</p>
+ *
+ * @param seq position in the log, increasing with every change
+ * @param kind what changed
+ * @param pollId poll the change belongs to
+ * @param voterId voter for {@link Kind#VOTE}, otherwise null
+ * @param mask the voter's new selection as a {@link SelectionMasks} bitmask (0 = cleared), {@link Kind#VOTE} only
+ * @param changedAt epoch millis the change was written (on the originating server's clock)
+ * @param origin node id of the server that made the change
+ *
+ * @author Cammy
+ */
+public record PollChange(
+    long seq,
+    @NotNull Kind kind,
+    @NotNull UUID pollId,
+    @Nullable UUID voterId,
+    int mask,
+    long changedAt,
+    @NotNull String origin
+) {
+
+    public enum Kind { CREATE, VOTE, CLOSE, DELETE }
+
+}
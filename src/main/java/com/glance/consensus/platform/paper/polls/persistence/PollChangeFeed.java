@@ -0,0 +1,50 @@
+package com.glance.consensus.platform.paper.polls.persistence;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read side of the change log a storage keeps when several servers share it
+ *
+ * <p>Each server tails the log from the position it loaded its state at and applies the
+ * changes other nodes made; its own changes are already in memory and are recognised by
+ * {@link #nodeId()}</p>
+ *
+ * @author Cammy
+ */
+public interface PollChangeFeed {
+
+    /** Id this server writes into {@link PollChange#origin()} */
+    @NotNull String nodeId();
+
+    /** How often the log should be checked for new changes */
+    long pollIntervalMs();
+
+    /**
+     * Current end of the log
+     *
+     * @return future completing with the highest sequence written so far (0 when empty)
+     */
+    CompletableFuture<Long> latestSeq();
+
+    /**
+     * Reads changes past a position, in sequence order
+     *
+     * @param afterSeq last sequence already applied
+     * @param limit maximum entries to return
+     * @return future completing with up to {@code limit} changes with {@code seq > afterSeq}
+     */
+    CompletableFuture<List<PollChange>> changesAfter(long afterSeq, int limit);
+
+    /**
+     * Reads specific changes, e.g. ones a tailer moved past before they had committed
+     *
+     * @param seqs sequences to look up
+     * @return future completing with those of them that exist now, in sequence order
+     */
+    CompletableFuture<List<PollChange>> changesAt(@NotNull Collection<Long> seqs);
+
+}
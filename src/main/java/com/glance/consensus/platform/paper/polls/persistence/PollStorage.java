@@ -1,6 +1,7 @@
 package com.glance.consensus.platform.paper.polls.persistence;
 
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
@@ -36,13 +37,14 @@ public interface PollStorage {
      * Creates or upserts a poll definition and its answers
      * <p>No per-answer vote totals are stored here; those are derived from selections</p>
      *
-     * @param poll the poll aggregate to persist (answers {@code votes} ignored by storage)
+     * @param poll the poll to persist: its {@link com.glance.consensus.platform.paper.polls.domain.PollDefinition}
+     *             plus close state
      * @return future that completes when the poll has been durably written
      */
     CompletableFuture<Void> createPoll(@NotNull Poll poll);
 
     /**
-     * Loads a single poll aggregate (without derived tallies)
+     * Loads a single poll (definition and close state; tallies belong to the runtime)
      *
      * @param pollId target poll id
      * @return future containing the poll if present, otherwise empty
@@ -70,6 +72,17 @@ public interface PollStorage {
         return loadRecentPolls(Duration.ofDays(-1));
     }
 
+    /**
+     * Moves closed polls past the retention window out of hot storage, for backends that
+     * archive them. Runs from the manager's retention sweep; the default keeps polls in place
+     *
+     * @param retention how long closed polls stay in hot storage
+     * @return future completing once the sweep is done
+     */
+    default CompletableFuture<Void> archiveExpired(@NotNull Duration retention) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Marks a poll as closed and records the closure time
      *
@@ -79,6 +92,22 @@ public interface PollStorage {
      */
     CompletableFuture<Void> closePoll(@NotNull UUID pollId, @NotNull Instant closedAt);
 
+    /**
+     * Closes several polls together, e.g. a batch that expired in the same sweep
+     *
+     * <p>Implementations write the whole batch in one statement or transaction where the
+     * backend allows it. The default closes each poll separately</p>
+     *
+     * @param closedAt poll id -> timestamp to record
+     * @return future completing when every poll is updated
+     */
+    default CompletableFuture<Void> closePolls(@NotNull Map<UUID, Instant> closedAt) {
+        CompletableFuture<?>[] writes = closedAt.entrySet().stream()
+            .map(e -> closePoll(e.getKey(), e.getValue()))
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(writes);
+    }
+
     /**
      * Deletes a poll and its associated selections
      *
@@ -165,4 +194,82 @@ public interface PollStorage {
      */
     CompletableFuture<Map<UUID, Set<Integer>>> loadAllSelections(@NotNull UUID pollId);
 
+    /**
+     * Loads the per-option vote counts of a poll
+     *
+     * <p>Backends that maintain tallies alongside selections answer this without reading
+     * per-voter data, which suits closed polls that are only displayed. The default derives
+     * the counts from {@link #loadAllSelections(UUID)}</p>
+     *
+     * @param pollId poll id
+     * @return future completing with option index -> votes (options without votes may be absent)
+     */
+    default CompletableFuture<Map<Integer, Integer>> loadTallies(@NotNull UUID pollId) {
+        return loadAllSelections(pollId).thenApply(selections -> {
+            Map<Integer, Integer> out = new HashMap<>();
+            for (Set<Integer> indices : selections.values()) {
+                for (int idx : indices) out.merge(idx, 1, Integer::sum);
+            }
+            return Collections.unmodifiableMap(out);
+        });
+    }
+
+    /**
+     * Receives selections streamed by {@link #streamSelections(Collection, SelectionSink)}
+     */
+    @FunctionalInterface
+    interface SelectionSink {
+        /**
+         * @param pollId poll the selection belongs to
+         * @param voterId voter id
+         * @param mask chosen option indices as a {@link SelectionMasks} bitmask (never 0)
+         */
+        void accept(@NotNull UUID pollId, @NotNull UUID voterId, int mask);
+    }
+
+    /**
+     * Streams the stored selections of many polls into {@code sink}, one call per voter
+     *
+     * <p>Intended for bulk bootstrap: implementations read everything in as few passes as
+     * possible without materializing per-poll maps. The sink is invoked sequentially from a
+     * storage thread; the returned future completes after the last call</p>
+     *
+     * @param pollIds polls to read
+     * @param sink receiver for each (poll, voter, selection)
+     * @return future completing once every selection has been delivered
+     */
+    default CompletableFuture<Void> streamSelections(
+        @NotNull Collection<UUID> pollIds,
+        @NotNull SelectionSink sink
+    ) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (UUID pollId : pollIds) {
+            chain = chain.thenCompose(v -> loadAllSelections(pollId))
+                .thenAccept(selections -> selections.forEach((voter, indices) -> {
+                    if (!indices.isEmpty()) sink.accept(pollId, voter, SelectionMasks.toMask(indices));
+                }));
+        }
+        return chain;
+    }
+
+    /* Multi-server */
+
+    /**
+     * Change log shared with other servers using the same backend
+     *
+     * @return the feed, or empty when the backend isn't shared or sync is disabled
+     */
+    default Optional<PollChangeFeed> changeFeed() {
+        return Optional.empty();
+    }
+
+    /* Lifecycle */
+
+    /**
+     * Flushes any buffered writes and releases backend resources
+     *
+     * <p>Called once on plugin disable; no further calls are made afterward</p>
+     */
+    default void shutdown() {}
+
 }
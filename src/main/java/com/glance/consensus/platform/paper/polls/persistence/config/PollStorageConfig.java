@@ -16,16 +16,41 @@ import java.util.Locale;
  * <p>Example:</p>
  * <pre>
  * storage:
- *   backend: FLATFILE  # FLATFILE | SQLITE | MYSQL (nyi)
+ *   backend: FLATFILE  # FLATFILE | SQLITE | MYSQL
  *   flatfile:
  *     dir: playerdata/polls
+ *     votes:
+ *       mode: JOURNAL  # SNAPSHOT | JOURNAL
+ *       compactAfter: 5000
+ *       format: JSON  # JSON | BINARY
+ *     fsync:
+ *       policy: ALWAYS    # ALWAYS | INTERVAL | OS
+ *       intervalMs: 1000
  *   sql:
- *     jdbcUrl: "jdbc:sqlite:${plugin.data}/polls.db"
+ *     jdbcUrl: "jdbc:sqlite:${plugin.data}/polls.db"  # or jdbc:mysql://host/db, jdbc:mariadb://host/db
  *     username: ""
  *     password: ""
  *     pool:
  *       maxSize: 6
  *       minIdle: 2
+ *     votes:
+ *       schema: LEGACY  # LEGACY | COMPACT
+ *     sqlite:
+ *       journalMode: WAL
+ *       synchronous: NORMAL
+ *       busyTimeoutMs: 5000
+ *       cacheSizeKb: 16384
+ *       mmapSizeMb: 256
+ *       tempStore: MEMORY
+ *     writeBehind:
+ *       enabled: false
+ *       flushMs: 50
+ *       maxBatch: 500
+ *     sync:
+ *       enabled: false
+ *       pollMs: 1000
+ *       retentionMinutes: 60
+ *     statsIntervalMinutes: 15  # 0 = only at shutdown
  * </pre>
  *
  * <p>Notes:</p>
@@ -41,13 +66,91 @@ public final class PollStorageConfig {
 
     public enum Backend { FLATFILE, SQLITE, MYSQL }
 
+    /**
+     * How the flatfile backend persists selection changes
+     * <li>{@code SNAPSHOT} - rewrite the whole votes file on every change</li>
+     * <li>{@code JOURNAL} - append one record per change, compacted into the snapshot periodically</li>
+     */
+    public enum VoteWriteMode { SNAPSHOT, JOURNAL }
+
+    /**
+     * On-disk encoding of flatfile vote snapshots and journals
+     * <li>{@code JSON} - human readable, keyed by voter id strings</li>
+     * <li>{@code BINARY} - 17 bytes per voter (uuid + selection bitmask) with a checksummed header</li>
+     */
+    public enum VoteFileFormat { JSON, BINARY }
+
+    /**
+     * When flatfile writes are forced to disk
+     * <li>{@code ALWAYS} - fsync before every write completes (most durable, slowest)</li>
+     * <li>{@code INTERVAL} - fsync written files in batches every {@code intervalMs}</li>
+     * <li>{@code OS} - leave flushing to the operating system</li>
+     * <p>Only {@code ALWAYS} keeps the {@code PollStorage} promise that a completed write
+     * survives a crash, so it is the default</p>
+     */
+    public enum FsyncPolicy { ALWAYS, INTERVAL, OS }
+
+    /**
+     * Table layout for voter selections in the SQL backend
+     * <li>{@code LEGACY} - one TEXT-keyed row per selected option</li>
+     * <li>{@code COMPACT} - one row per (poll, voter) with 16-byte UUID keys and a selection bitmask;
+     * existing legacy rows are migrated on startup</li>
+     */
+    public enum VoteSchema { LEGACY, COMPACT }
+
+    /**
+     * Pragmas applied to every pooled SQLite connection
+     *
+     * @param journalMode {@code WAL} lets readers proceed while a write is in progress
+     * @param synchronous {@code NORMAL} is durable across application crashes in WAL mode
+     * @param busyTimeoutMs how long a connection waits on a lock before failing
+     * @param cacheSizeKb page cache per connection
+     * @param mmapSizeMb memory-mapped io window (0 disables)
+     * @param tempStore where temporary tables and indices live
+     */
+    public record SqliteProfile(
+        @NotNull String journalMode,
+        @NotNull String synchronous,
+        int busyTimeoutMs,
+        int cacheSizeKb,
+        int mmapSizeMb,
+        @NotNull String tempStore
+    ) {
+        public static final SqliteProfile DEFAULTS = new SqliteProfile("WAL", "NORMAL", 5000, 16384, 256, "MEMORY");
+
+        static SqliteProfile from(@NotNull ConfigurationSection s) {
+            return new SqliteProfile(
+                s.getString("sql.sqlite.journalMode", DEFAULTS.journalMode).toUpperCase(Locale.ROOT),
+                s.getString("sql.sqlite.synchronous", DEFAULTS.synchronous).toUpperCase(Locale.ROOT),
+                Math.max(0, s.getInt("sql.sqlite.busyTimeoutMs", DEFAULTS.busyTimeoutMs)),
+                Math.max(0, s.getInt("sql.sqlite.cacheSizeKb", DEFAULTS.cacheSizeKb)),
+                Math.max(0, s.getInt("sql.sqlite.mmapSizeMb", DEFAULTS.mmapSizeMb)),
+                s.getString("sql.sqlite.tempStore", DEFAULTS.tempStore).toUpperCase(Locale.ROOT)
+            );
+        }
+    }
+
     private final Backend backend;
     private final String flatFileDir;
+    private final VoteWriteMode voteWriteMode;
+    private final int journalCompactAfter;
+    private final VoteFileFormat voteFileFormat;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMs;
     private final String jdbcURL;
     private final String username;
     private final String password;
     private final int maxPool;
     private final int minIdle;
+    private final VoteSchema voteSchema;
+    private final SqliteProfile sqliteProfile;
+    private final boolean writeBehindEnabled;
+    private final long writeBehindFlushMs;
+    private final int writeBehindMaxBatch;
+    private final boolean syncEnabled;
+    private final long syncPollMs;
+    private final int syncRetentionMinutes;
+    private final int statsIntervalMinutes;
 
     @Inject
     public PollStorageConfig(@NotNull final Plugin plugin) {
@@ -56,14 +159,36 @@ public final class PollStorageConfig {
         if (s == null) {
             this.backend = Backend.FLATFILE;
             this.flatFileDir = "playerdata/polls";
+            this.voteWriteMode = VoteWriteMode.JOURNAL;
+            this.journalCompactAfter = 5000;
+            this.voteFileFormat = VoteFileFormat.JSON;
+            this.fsyncPolicy = FsyncPolicy.ALWAYS;
+            this.fsyncIntervalMs = 1000L;
             this.jdbcURL = "";
             this.username = "";
             this.password = "";
             this.maxPool = 6;
             this.minIdle = 2;
+            this.voteSchema = VoteSchema.LEGACY;
+            this.sqliteProfile = SqliteProfile.DEFAULTS;
+            this.writeBehindEnabled = false;
+            this.writeBehindFlushMs = 50L;
+            this.writeBehindMaxBatch = 500;
+            this.syncEnabled = false;
+            this.syncPollMs = 1000L;
+            this.syncRetentionMinutes = 60;
+            this.statsIntervalMinutes = 15;
         } else {
             this.backend = Backend.valueOf(s.getString("backend", "FLATFILE").toUpperCase(Locale.ROOT));
             this.flatFileDir = s.getString("flatfile.dir", "playerdata/polls");
+            this.voteWriteMode = VoteWriteMode.valueOf(
+                    s.getString("flatfile.votes.mode", "JOURNAL").toUpperCase(Locale.ROOT));
+            this.journalCompactAfter = Math.max(1, s.getInt("flatfile.votes.compactAfter", 5000));
+            this.voteFileFormat = VoteFileFormat.valueOf(
+                    s.getString("flatfile.votes.format", "JSON").toUpperCase(Locale.ROOT));
+            this.fsyncPolicy = FsyncPolicy.valueOf(
+                    s.getString("flatfile.fsync.policy", "ALWAYS").toUpperCase(Locale.ROOT));
+            this.fsyncIntervalMs = Math.max(10L, s.getLong("flatfile.fsync.intervalMs", 1000L));
 
             String rawUrl = s.getString("sql.jdbcUrl", "jdbc:sqlite:" +
                     new File(plugin.getDataFolder(), "polls.db").getAbsolutePath());
@@ -74,6 +199,18 @@ public final class PollStorageConfig {
 
             this.maxPool = s.getInt("sql.pool.maxSize", 6);
             this.minIdle = s.getInt("sql.pool.minIdle", 2);
+            this.voteSchema = VoteSchema.valueOf(
+                    s.getString("sql.votes.schema", "LEGACY").toUpperCase(Locale.ROOT));
+            this.sqliteProfile = SqliteProfile.from(s);
+
+            this.writeBehindEnabled = s.getBoolean("sql.writeBehind.enabled", false);
+            this.writeBehindFlushMs = Math.max(1L, s.getLong("sql.writeBehind.flushMs", 50L));
+            this.writeBehindMaxBatch = Math.max(1, s.getInt("sql.writeBehind.maxBatch", 500));
+
+            this.syncEnabled = s.getBoolean("sql.sync.enabled", false);
+            this.syncPollMs = Math.max(50L, s.getLong("sql.sync.pollMs", 1000L));
+            this.syncRetentionMinutes = Math.max(1, s.getInt("sql.sync.retentionMinutes", 60));
+            this.statsIntervalMinutes = Math.max(0, s.getInt("sql.statsIntervalMinutes", 15));
         }
     }
 
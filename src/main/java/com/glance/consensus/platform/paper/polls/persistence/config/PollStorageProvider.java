@@ -3,6 +3,7 @@ package com.glance.consensus.platform.paper.polls.persistence.config;
 import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
 import com.glance.consensus.platform.paper.polls.persistence.file.FlatFilePollStorage;
 import com.glance.consensus.platform.paper.polls.persistence.sql.JdbiPollStorage;
+import com.glance.consensus.platform.paper.polls.persistence.sql.SqlBootstrap;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -22,7 +23,8 @@ import org.jetbrains.annotations.NotNull;
  * <p>Driver checks:</p>
  * <ul>
  *   <li>SQLite: {@code org.sqlite.JDBC}</li>
- *   <li>MySQL: {@code com.mysql.cj.jdbc.Driver} (NYI)</li>
+ *   <li>MySQL: {@code com.mysql.cj.jdbc.Driver}, or the driver the JDBC URL names
+ *       ({@code org.mariadb.jdbc.Driver} for {@code jdbc:mariadb}, {@code org.h2.Driver} for {@code jdbc:h2})</li>
  * </ul>
  *
  * <p>Caches the selected instance for subsequent calls to {@link #get()}</p>
@@ -65,9 +67,18 @@ public final class PollStorageProvider implements Provider<PollStorage> {
             plugin.getLogger().warning("SQLite driver missing. Falling back to FlatFile.");
             return cached = flat.get();
         }
-        if (be == PollStorageConfig.Backend.MYSQL && !classPresent("com.mysql.cj.jdbc.Driver")) {
-            plugin.getLogger().warning("MySQL driver missing. Falling back to FlatFile.");
-            return cached = flat.get();
+        if (be == PollStorageConfig.Backend.MYSQL) {
+            String driver;
+            try {
+                driver = SqlBootstrap.driverClassOf(cfg.getJdbcURL());
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning(e.getMessage() + ". Falling back to FlatFile.");
+                return cached = flat.get();
+            }
+            if (!classPresent(driver)) {
+                plugin.getLogger().warning("MySQL driver missing (" + driver + "). Falling back to FlatFile.");
+                return cached = flat.get();
+            }
         }
 
         plugin.getLogger().info("Using SQL poll storage via JDBI (" + be + ")");
@@ -0,0 +1,122 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary encoding of poll selections for the flatfile backend
+ *
+ * <p>Snapshot ({@code <poll>-votes.bin}):</p>
+ * <pre>
+ *   magic    4 bytes  "CVOT"
+ *   version  1 byte
+ *   count    4 bytes  number of records
+ *   records  count x (16 byte voter UUID + 1 byte selection mask)
+ *   crc32    4 bytes  over everything before it
+ * </pre>
+ *
+ * <p>Journal ({@code <poll>-votes.jlog}): a headerless sequence of the same 17-byte records,
+ * where a zero mask clears the voter. A torn final record is detected by length</p>
+ *
+ * @author Cammy
+ */
+final class BinaryVotes {
+
+    static final int MAGIC = 0x43564F54; // "CVOT"
+    static final byte VERSION = 1;
+    static final int RECORD_BYTES = 17;
+    static final int HEADER_BYTES = 9;
+    static final int CRC_BYTES = 4;
+
+    private BinaryVotes() {}
+
+    /** Streams a full snapshot of {@code votes} (voter id -> option indices) */
+    static void writeSnapshot(
+        @NotNull OutputStream raw,
+        @NotNull Map<UUID, Set<Integer>> votes
+    ) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(raw, new CRC32());
+        DataOutputStream out = new DataOutputStream(checked);
+
+        List<Map.Entry<UUID, Set<Integer>>> live = new ArrayList<>(votes.size());
+        for (var e : votes.entrySet()) {
+            if (e.getValue() != null && !e.getValue().isEmpty()) live.add(e);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(live.size());
+        for (var e : live) {
+            UUID voter = e.getKey();
+            out.writeLong(voter.getMostSignificantBits());
+            out.writeLong(voter.getLeastSignificantBits());
+            out.writeByte(SelectionMasks.toMask(e.getValue()));
+        }
+        out.flush();
+
+        // checksum itself is not part of the checked range
+        new DataOutputStream(raw).writeInt((int) checked.getChecksum().getValue());
+        raw.flush();
+    }
+
+    /**
+     * Streams a snapshot back into a mutable map
+     *
+     * @param length size of the snapshot in bytes; the header's record count must account for
+     *               exactly that many, so a corrupt count is rejected before anything is allocated
+     * @throws IOException if the header, length or checksum don't match
+     */
+    static @NotNull Map<UUID, Set<Integer>> readSnapshot(@NotNull InputStream raw, long length) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(raw);
+        CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+        DataInputStream in = new DataInputStream(checked);
+
+        try {
+            if (in.readInt() != MAGIC) throw new IOException("Not a binary votes file");
+            byte version = in.readByte();
+            if (version != VERSION) throw new IOException("Unsupported binary votes version " + version);
+
+            int count = in.readInt();
+            if (count < 0 || (long) count * RECORD_BYTES != length - HEADER_BYTES - CRC_BYTES) {
+                throw new IOException("Record count " + count + " doesn't match a " + length + " byte file");
+            }
+
+            Map<UUID, Set<Integer>> out = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                UUID voter = new UUID(in.readLong(), in.readLong());
+                int mask = in.readUnsignedByte();
+                if (mask != 0) out.put(voter, SelectionMasks.toSet(mask));
+            }
+
+            long expected = checked.getChecksum().getValue();
+            int stored = new DataInputStream(buffered).readInt();
+            if ((int) expected != stored) throw new IOException("Binary votes checksum mismatch");
+            return out;
+        } catch (EOFException e) {
+            throw new IOException("Truncated binary votes file", e);
+        }
+    }
+
+    /** Encodes one journal record */
+    static byte[] encodeRecord(@NotNull UUID voter, int mask) {
+        return ByteBuffer.allocate(RECORD_BYTES)
+                .putLong(voter.getMostSignificantBits())
+                .putLong(voter.getLeastSignificantBits())
+                .put((byte) mask)
+                .array();
+    }
+
+}
@@ -1,14 +1,20 @@
 package com.glance.consensus.platform.paper.polls.persistence.file;
 
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollDefinition;
 import com.glance.consensus.platform.paper.polls.domain.PollOption;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
 import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
 import com.glance.consensus.platform.paper.polls.persistence.config.PollStorageConfig;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import com.glance.consensus.utils.Pair;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -18,15 +24,18 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 @Slf4j
@@ -37,7 +46,22 @@ public class FlatFilePollStorage implements PollStorage {
     private final Gson gson;
     private final File baseDir; // polls
     private final File votesDir; // polls/votes
-    private final Object ioLock = new Object();
+    private final File quarantineDir; // polls/quarantine
+    private final PollArchive archive; // polls/archive
+    private final PollManifest manifest; // polls/manifest.json
+    private final FileSync fileSync;
+
+    // Striped per-poll io locks; writes to different polls proceed in parallel
+    private static final int LOCK_STRIPES = 64;
+    private final Object[] ioLocks = new Object[LOCK_STRIPES];
+
+    // Vote journaling
+    private final PollStorageConfig.VoteWriteMode voteMode;
+    private final int compactAfter;
+    private final VoteJournal journal;
+    private final boolean binaryVotes;
+    /** pollId -> live voter count at the last full read, used to scale compaction */
+    private final Map<UUID, Integer> knownVoters = new ConcurrentHashMap<>();
 
     @Inject
     public FlatFilePollStorage (
@@ -52,13 +76,43 @@ public class FlatFilePollStorage implements PollStorage {
         this.logger = plugin.getLogger();
         this.baseDir = new File(plugin.getDataFolder(), cfg.getFlatFileDir());
         this.votesDir = new File(baseDir, "votes");
+        this.quarantineDir = new File(baseDir, "quarantine");
         this.baseDir.mkdirs();
         this.votesDir.mkdirs();
+        for (int i = 0; i < LOCK_STRIPES; i++) ioLocks[i] = new Object();
+
+        this.fileSync = new FileSync(cfg.getFsyncPolicy(), cfg.getFsyncIntervalMs(), logger);
+
+        this.voteMode = cfg.getVoteWriteMode();
+        this.compactAfter = cfg.getJournalCompactAfter();
+        this.binaryVotes = cfg.getVoteFileFormat() == PollStorageConfig.VoteFileFormat.BINARY;
+        this.journal = new VoteJournal(votesDir, fileSync, logger, binaryVotes);
 
         this.gson = new GsonBuilder()
             .disableHtmlEscaping()
-            .setPrettyPrinting() // todo remove in prod
+            .registerTypeAdapter(PollData.class, new PollDataAdapter().nullSafe())
             .create();
+
+        this.archive = new PollArchive(new File(baseDir, "archive"), gson, fileSync, logger);
+        this.manifest = new PollManifest(new File(baseDir, "manifest.json"), gson, fileSync, logger);
+
+        recover();
+        convertVoteFiles();
+        syncManifest();
+    }
+
+    /* ---- Locking ---- */
+
+    /** Io lock guarding all files (poll, snapshot, journal) of a single poll */
+    private Object lockFor(@NotNull UUID pollId) {
+        int h = pollId.hashCode();
+        h ^= (h >>> 16);
+        return ioLocks[h & (LOCK_STRIPES - 1)];
+    }
+
+    @Override
+    public void shutdown() {
+        fileSync.close();
     }
 
     /* ---- Paths ---- */
@@ -67,8 +121,17 @@ public class FlatFilePollStorage implements PollStorage {
         return new File(baseDir, pollId.toString() + ".json");
     }
 
+    private static final String JSON_VOTES_SUFFIX = "-votes.json";
+    private static final String BINARY_VOTES_SUFFIX = "-votes.bin";
+
+    /** Votes snapshot in the configured format */
     private File votesFile(UUID pollId) {
-        return new File(votesDir, pollId.toString() + "-votes.json");
+        return new File(votesDir, pollId.toString() + (binaryVotes ? BINARY_VOTES_SUFFIX : JSON_VOTES_SUFFIX));
+    }
+
+    /** Votes snapshot in the other format, pending conversion */
+    private File legacyVotesFile(UUID pollId) {
+        return new File(votesDir, pollId.toString() + (binaryVotes ? JSON_VOTES_SUFFIX : BINARY_VOTES_SUFFIX));
     }
 
     /* ---- DTOs ---- */
@@ -96,24 +159,118 @@ public class FlatFilePollStorage implements PollStorage {
         @Nullable String tooltipRaw
     ) {}
 
-    private static final Type VOTES_MAP_TYPE = new TypeToken<Map<String, Set<Integer>>>() {}.getType();
+    /**
+     * Hand-written streaming binding for {@link PollData}, avoiding reflective field access
+     * <p>Unknown fields are skipped and null fields omitted, matching the reflective layout</p>
+     */
+    private static final class PollDataAdapter extends TypeAdapter<PollData> {
+
+        @Override
+        public void write(JsonWriter out, PollData pd) throws IOException {
+            out.beginObject();
+            out.name("id").value(pd.id);
+            if (pd.readableId != null) out.name("readableId").value(pd.readableId);
+            out.name("owner").value(pd.owner);
+            out.name("questionRaw").value(pd.questionRaw);
+            if (pd.createdAt != null) out.name("createdAt").value(pd.createdAt);
+            if (pd.closesAt != null) out.name("closesAt").value(pd.closesAt);
+            if (pd.closedAt != null) out.name("closedAt").value(pd.closedAt);
+            out.name("closed").value(pd.closed);
+            out.name("multipleChoice").value(pd.multipleChoice);
+            if (pd.maxSelections != null) out.name("maxSelections").value(pd.maxSelections);
+            out.name("allowResubmissions").value(pd.allowResubmissions);
+            out.name("showResults").value(pd.showResults);
+
+            out.name("answers").beginArray();
+            for (AnswerRecord a : pd.answers) {
+                out.beginObject();
+                out.name("idx").value(a.idx());
+                out.name("labelRaw").value(a.labelRaw());
+                if (a.tooltipRaw() != null) out.name("tooltipRaw").value(a.tooltipRaw());
+                out.endObject();
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public PollData read(JsonReader in) throws IOException {
+            PollData pd = new PollData();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "id" -> pd.id = in.nextString();
+                    case "readableId" -> pd.readableId = in.nextString();
+                    case "owner" -> pd.owner = in.nextString();
+                    case "questionRaw" -> pd.questionRaw = in.nextString();
+                    case "createdAt" -> pd.createdAt = in.nextLong();
+                    case "closesAt" -> pd.closesAt = in.nextLong();
+                    case "closedAt" -> pd.closedAt = in.nextLong();
+                    case "closed" -> pd.closed = in.nextBoolean();
+                    case "multipleChoice" -> pd.multipleChoice = in.nextBoolean();
+                    case "maxSelections" -> pd.maxSelections = in.nextInt();
+                    case "allowResubmissions" -> pd.allowResubmissions = in.nextBoolean();
+                    case "showResults" -> pd.showResults = in.nextBoolean();
+                    case "answers" -> readAnswers(in, pd.answers);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return pd;
+        }
+
+        private static void readAnswers(JsonReader in, List<AnswerRecord> into) throws IOException {
+            in.beginArray();
+            while (in.hasNext()) {
+                int idx = 0;
+                String label = null;
+                String tooltip = null;
+
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        continue;
+                    }
+                    switch (name) {
+                        case "idx" -> idx = in.nextInt();
+                        case "labelRaw" -> label = in.nextString();
+                        case "tooltipRaw" -> tooltip = in.nextString();
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+
+                if (label == null) throw new JsonParseException("answer " + idx + " has no label");
+                into.add(new AnswerRecord(idx, label, tooltip));
+            }
+            in.endArray();
+        }
+    }
 
     private PollData toData(@NotNull Poll poll) {
+        PollDefinition def = poll.getDefinition();
         PollData pd = new PollData();
-        pd.id = poll.getId().toString();
-        pd.readableId = poll.getPollIdentifier();
-        pd.owner = poll.getOwner().toString();
-        pd.questionRaw = poll.getQuestionRaw();
-        pd.createdAt = poll.getCreatedAt().toEpochMilli();
-        pd.closesAt = poll.getClosesAt().toEpochMilli();
+        pd.id = def.getId().toString();
+        pd.readableId = def.getPollIdentifier();
+        pd.owner = def.getOwner().toString();
+        pd.questionRaw = def.getQuestionRaw();
+        pd.createdAt = def.getCreatedAt().toEpochMilli();
+        pd.closesAt = def.getClosesAt().toEpochMilli();
         pd.closedAt = poll.getClosedAt() != null ? poll.getClosedAt().toEpochMilli() : null;
         pd.closed = poll.isClosed();
-        pd.multipleChoice = poll.getRules().multipleChoice();
-        pd.maxSelections = poll.getRules().maxSelections();
-        pd.allowResubmissions = poll.getRules().allowResubmissions();
-        pd.showResults = poll.getRules().canViewResults();
+        pd.multipleChoice = def.getRules().multipleChoice();
+        pd.maxSelections = def.getRules().maxSelections();
+        pd.allowResubmissions = def.getRules().allowResubmissions();
+        pd.showResults = def.getRules().canViewResults();
 
-        for (var a : poll.getOptions()) {
+        for (var a : def.getOptions()) {
             AnswerRecord ar = new AnswerRecord(a.index(), a.labelRaw(), a.tooltipRaw());
             pd.answers.add(ar);
         }
@@ -123,57 +280,192 @@ public class FlatFilePollStorage implements PollStorage {
     private Poll fromData(PollData pd) {
         List<PollOption> opts = new ArrayList<>(pd.answers.size());
         for (var ar : pd.answers) {
-            opts.add(new PollOption(ar.idx, ar.labelRaw, ar.tooltipRaw, 0)); // votes applied separately
+            opts.add(new PollOption(ar.idx, ar.labelRaw, ar.tooltipRaw));
         }
         var rules = new PollRules(pd.multipleChoice, pd.maxSelections, pd.allowResubmissions, pd.showResults);
-        Poll p = new Poll(
+        PollDefinition def = new PollDefinition(
             UUID.fromString(pd.id),
             pd.readableId != null ? pd.readableId : pd.id,
             UUID.fromString(pd.owner),
             pd.questionRaw,
             Instant.ofEpochMilli(pd.createdAt),
             Instant.ofEpochMilli(pd.closesAt),
-            pd.closedAt != null ? Instant.ofEpochMilli(pd.closedAt) : null,
             opts,
             rules
         );
+        Poll p = new Poll(def, pd.closedAt != null ? Instant.ofEpochMilli(pd.closedAt) : null);
         p.setClosed(pd.closed);
         return p;
     }
 
+    /* ---- Recovery ---- */
+
+    /**
+     * Startup pass over the storage directories
+     * <li>removes temp files left by writes interrupted before their atomic rename (targets are intact)</li>
+     * <li>truncates torn final records from vote journals</li>
+     *
+     * <p>Corrupt poll and vote files are quarantined lazily when they are first read,
+     * see {@link #quarantine(File, Exception)}</p>
+     */
+    private void recover() {
+        int tmpRemoved = 0;
+        for (File dir : new File[] { baseDir, votesDir, new File(baseDir, "archive") }) {
+            File[] tmps = dir.listFiles((d, name) -> name.endsWith(FileSync.TMP_SUFFIX));
+            if (tmps == null) continue;
+            for (File tmp : tmps) {
+                if (tmp.delete()) tmpRemoved++;
+            }
+        }
+
+        int repaired = 0;
+        File[] logs = votesDir.listFiles((d, name) ->
+                name.endsWith(VoteJournal.TEXT_SUFFIX) || name.endsWith(VoteJournal.BINARY_SUFFIX));
+        if (logs != null) {
+            for (File log : logs) {
+                try {
+                    if (journal.repairTail(log)) repaired++;
+                } catch (IOException e) {
+                    logger.warning("Failed to check vote journal " + log.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        if (tmpRemoved > 0 || repaired > 0) {
+            logger.warning("Storage recovery: removed " + tmpRemoved + " interrupted writes, repaired "
+                    + repaired + " vote journals");
+        }
+    }
+
+    /**
+     * Rewrites vote snapshots and journals left in the other {@link PollStorageConfig.VoteFileFormat}
+     * into the configured one, so switching formats needs no manual migration
+     *
+     * <p>Each poll is converted by folding everything it has on disk into a fresh snapshot;
+     * old files are removed only after the new snapshot is written</p>
+     */
+    private void convertVoteFiles() {
+        String legacySnapshot = binaryVotes ? JSON_VOTES_SUFFIX : BINARY_VOTES_SUFFIX;
+        String legacyJournal = binaryVotes ? VoteJournal.TEXT_SUFFIX : VoteJournal.BINARY_SUFFIX;
+
+        File[] files = votesDir.listFiles((d, name) -> name.endsWith(legacySnapshot) || name.endsWith(legacyJournal));
+        if (files == null || files.length == 0) return;
+
+        Set<UUID> pending = new HashSet<>();
+        for (File f : files) {
+            try {
+                pending.add(UUID.fromString(f.getName().substring(0, 36)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException ignored) {}
+        }
+
+        int converted = 0;
+        for (UUID id : pending) {
+            try {
+                synchronized (lockFor(id)) {
+                    saveVotesRaw(id, loadVotesRaw(id));
+                }
+                converted++;
+            } catch (RuntimeException e) {
+                logger.warning("Failed to convert vote files for poll " + id + ": " + e.getMessage());
+            }
+        }
+
+        logger.info("Converted vote files of " + converted + " polls to " + (binaryVotes ? "BINARY" : "JSON"));
+    }
+
+    /**
+     * Moves an unreadable file out of the way so the rest of the store keeps loading
+     * <p>Must be called while holding the owning poll's io lock</p>
+     */
+    private void quarantine(File f, Exception cause) {
+        quarantineDir.mkdirs();
+        File target = new File(quarantineDir, f.getName() + "." + System.currentTimeMillis() + ".corrupt");
+        try {
+            Files.move(f.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            logger.severe("Quarantined corrupt poll storage file " + f.getName() + " -> "
+                    + target.getPath() + " (" + cause.getMessage() + ")");
+        } catch (IOException e) {
+            logger.severe("Corrupt poll storage file " + f.getPath() + " could not be quarantined: "
+                    + e.getMessage());
+        }
+    }
+
     /* ---- Core Store ---- */
 
     /* Poll Specific */
 
     private Optional<PollData> loadPollData(UUID pollId) {
         File f = pollFile(pollId);
-        if (!f.exists()) return Optional.empty();
+        if (!f.exists()) return loadArchivedPollData(pollId);
+        try {
+            return Optional.ofNullable(parsePollFile(f));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parses a poll file, quarantining it if the content is unreadable
+     * <p>Must be called while holding the poll's io lock</p>
+     *
+     * @return the poll data, or null if the file was corrupt
+     */
+    private @Nullable PollData parsePollFile(File f) throws IOException {
         try (Reader r = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
-            PollData pr = gson.fromJson(r, PollData.class);
-            return Optional.ofNullable(pr);
+            PollData pd = gson.fromJson(r, PollData.class);
+            if (pd == null || pd.id == null || pd.closesAt == null || pd.createdAt == null) {
+                throw new JsonParseException("missing required poll fields");
+            }
+            return pd;
+        } catch (JsonParseException e) {
+            quarantine(f, e);
+            return null;
+        }
+    }
+
+    private Optional<PollData> loadArchivedPollData(UUID pollId) {
+        if (!archive.contains(pollId)) return Optional.empty();
+        try {
+            return archive.readPoll(pollId).map(json -> gson.fromJson(json, PollData.class));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Writes a poll file and then its manifest entry
+     * <p>Must be called while holding the poll's io lock</p>
+     */
     private void savePollData(PollData pr) {
-        File f = pollFile(UUID.fromString(pr.id));
-        try (Writer w = Files.newBufferedWriter(f.toPath(), StandardCharsets.UTF_8)) {
-            gson.toJson(pr, w);
+        UUID id = UUID.fromString(pr.id);
+        try {
+            writePollFile(id, pr);
+            manifest.put(id, manifestEntry(pr, manifest.versionOf(id) + 1));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /** Writes only the poll file; the caller updates the manifest. Must hold the poll's io lock */
+    private void writePollFile(UUID id, PollData pr) throws IOException {
+        fileSync.writeAtomically(pollFile(id).toPath(), out -> {
+            Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(pr, w);
+            w.flush();
+        });
+    }
+
     @Override
     public CompletableFuture<Void> createPoll(@NotNull Poll poll) {
         return CompletableFuture.runAsync(() -> {
-            synchronized (ioLock) {
+            synchronized (lockFor(poll.getId())) {
                 // write poll file
                 savePollData(toData(poll));
                 // ensure empty votes file exists
                 File vf = votesFile(poll.getId());
-                if (!vf.exists()) saveVotesRaw(poll.getId(), new HashMap<>());
+                if (!vf.exists() && !legacyVotesFile(poll.getId()).exists() && !journal.exists(poll.getId())) {
+                    saveVotesRaw(poll.getId(), new HashMap<>());
+                }
             }
         });
     }
@@ -181,7 +473,7 @@ public class FlatFilePollStorage implements PollStorage {
     @Override
     public CompletableFuture<Optional<Poll>> loadPoll(@NotNull UUID pollId) {
         return CompletableFuture.supplyAsync(() -> {
-            synchronized (ioLock) {
+            synchronized (lockFor(pollId)) {
                 return loadPollData(pollId).map(this::fromData);
             }
         });
@@ -192,17 +484,15 @@ public class FlatFilePollStorage implements PollStorage {
         return CompletableFuture.supplyAsync(() -> {
             long now = System.currentTimeMillis();
             List<Poll> out = new ArrayList<>();
-            synchronized (ioLock) {
-                File[] files = baseDir.listFiles((dir, name) -> name.endsWith(".json") && !name.contains("-votes"));
-                if (files == null) return out;
-                for (File f : files) {
-                    try (Reader r = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
-                        PollData pd = gson.fromJson(r, PollData.class);
-                        if (pd == null) continue;
-                        if (!pd.closed && pd.closesAt > now) out.add(fromData(pd));
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
+            for (PollManifest.Entry e : manifest.entries()) {
+                // manifest may lag behind a close, never run ahead of it; the file has the final say
+                if (e.closed() || e.closesAt() <= now) continue;
+                try {
+                    PollData pd = readHotPoll(UUID.fromString(e.id()));
+                    if (pd == null) continue;
+                    if (!pd.closed && pd.closesAt > now) out.add(fromData(pd));
+                } catch (IOException ex) {
+                    logger.severe("Failed to read poll file for " + e.id() + ": " + ex.getMessage());
                 }
             }
             return out;
@@ -217,44 +507,65 @@ public class FlatFilePollStorage implements PollStorage {
         return CompletableFuture.<Pair<List<Poll>, List<Pair<UUID, Long>>>>supplyAsync(() -> {
            List<Poll> out = new ArrayList<>();
            List<Pair<UUID, Long>> toClose = new ArrayList<>();
+           List<ArchiveCandidate> toArchive = new ArrayList<>();
+           Map<UUID, PollManifest.Entry> refreshed = new HashMap<>();
+
+           for (PollManifest.Entry e : manifest.entries()) {
+               final UUID id;
+               try {
+                   id = UUID.fromString(e.id());
+               } catch (IllegalArgumentException ex) {
+                   continue;
+               }
+
+               // Long-closed polls are decided from the manifest alone; their files are only copied into the archive
+               if (e.closed() && e.closedAt() != null && e.closedAt() < cutoff) {
+                   toArchive.add(new ArchiveCandidate(id, e.closedAt(), null));
+                   continue;
+               }
+
+               try {
+                   PollData pd = readHotPoll(id);
+                   if (pd == null) continue;
+                   // read outside the io lock; mergeAll keeps anything a concurrent close wrote since
+                   if (pd.closed != e.closed()) refreshed.put(id, manifestEntry(pd, e.version()));
 
-           synchronized (ioLock) {
-               File[] files = baseDir.listFiles((dir, name) -> name.endsWith(".json") && !name.contains("-votes"));
-               if (files == null) return new Pair<>(out, null);
-
-               for (File f : files) {
-                   try (Reader r = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
-                       PollData pd = gson.fromJson(r, PollData.class);
-                       if (pd == null) continue;
-
-                       final boolean wasOpen = !pd.closed;
-                       final boolean hasCloseTime = pd.closesAt != null;
-                       final boolean overdue = wasOpen && hasCloseTime && pd.closesAt <= now;
-
-                       if (overdue) {
-                           pd.closed = true;
-                           if (pd.closedAt == null) pd.closedAt = pd.closesAt;
-
-                           try {
-                               toClose.add(new Pair<>(UUID.fromString(pd.id), pd.closesAt));
-                           } catch (Exception e) {
-                               logger.warning("Invalid poll id '" + pd.id + "' in " + f.getPath());
-                           }
-                       }
-
-                       final boolean active = !pd.closed && (!hasCloseTime || pd.closesAt > now);
-                       boolean recentClosed = pd.closed && (pd.closedAt != null) && pd.closedAt >= cutoff;
-
-                       if (active || recentClosed) {
-                           out.add(fromData(pd));
-                       }
-                   } catch (IOException e) {
-                       this.logger.severe("Failed to read recent poll files: " + e.getMessage());
-                       throw new RuntimeException(e);
+                   final boolean wasOpen = !pd.closed;
+                   final boolean hasCloseTime = pd.closesAt != null;
+                   final boolean overdue = wasOpen && hasCloseTime && pd.closesAt <= now;
+
+                   if (overdue) {
+                       pd.closed = true;
+                       if (pd.closedAt == null) pd.closedAt = pd.closesAt;
+                       toClose.add(new Pair<>(id, pd.closesAt));
+                   }
+
+                   final boolean active = !pd.closed && (!hasCloseTime || pd.closesAt > now);
+                   boolean recentClosed = pd.closed && (pd.closedAt != null) && pd.closedAt >= cutoff;
+
+                   if (active || recentClosed) {
+                       out.add(fromData(pd));
+                   } else if (pd.closed) {
+                       toArchive.add(new ArchiveCandidate(id, pd.closedAt != null ? pd.closedAt : pd.closesAt, pd));
                    }
+               } catch (IOException ex) {
+                   // keep loading the rest; a single unreadable file shouldn't take down every poll
+                   this.logger.severe("Failed to read poll file for " + e.id() + ": " + ex.getMessage());
                }
            }
 
+           try {
+               manifest.mergeAll(refreshed);
+           } catch (IOException ex) {
+               logger.warning("Failed to update poll manifest: " + ex.getMessage());
+           }
+
+           if (cutoff == Long.MIN_VALUE) {
+               loadArchivedPolls(out);
+           } else {
+               archivePolls(toArchive);
+           }
+
            this.logger.info("Loaded " + out.size() + " recent polls");
            if (!toClose.isEmpty()) this.logger.info("Closed " + toClose.size()
                    + " overdue polls during downtime");
@@ -264,15 +575,13 @@ public class FlatFilePollStorage implements PollStorage {
         .thenApply(listPair -> {
             var toClose = listPair.second;
             if (toClose != null && !toClose.isEmpty()) {
-                final List<CompletableFuture<Void>> writes = new ArrayList<>(toClose.size());
+                final Map<UUID, Instant> closes = new HashMap<>(toClose.size() * 2);
                 for (Pair<UUID, Long> pair : toClose) {
                     if (pair.first == null) continue;
-                    final Instant closedAt = Instant.ofEpochMilli(pair.second != null
-                            ? pair.second : now);
-                    writes.add(closePoll(pair.first, closedAt));
+                    closes.put(pair.first, Instant.ofEpochMilli(pair.second != null ? pair.second : now));
                 }
 
-                CompletableFuture.allOf(writes.toArray(new CompletableFuture[]{}))
+                closePolls(closes)
                     .exceptionally(e -> {
                         logger.warning("Failed to save closed polls " + e.getMessage());
                         return null;
@@ -284,10 +593,200 @@ public class FlatFilePollStorage implements PollStorage {
         });
     }
 
+    /**
+     * Archives closed polls that fell out of the retention window while the server kept running;
+     * {@link #loadRecentPolls} only covers polls that were already past it at startup
+     */
+    @Override
+    public CompletableFuture<Void> archiveExpired(@NotNull Duration retention) {
+        return CompletableFuture.runAsync(() -> {
+            final long cutoff = System.currentTimeMillis() - retention.toMillis();
+            List<ArchiveCandidate> toArchive = new ArrayList<>();
+            for (PollManifest.Entry e : manifest.entries()) {
+                Long closedAt = e.closedAt() != null ? e.closedAt() : e.closesAt();
+                if (!e.closed() || closedAt == null || closedAt >= cutoff) continue;
+                try {
+                    toArchive.add(new ArchiveCandidate(UUID.fromString(e.id()), closedAt, null));
+                } catch (IllegalArgumentException ignored) {
+                    // not a poll we wrote
+                }
+            }
+            archivePolls(toArchive);
+        });
+    }
+
+    /* ---- Manifest ---- */
+
+    private PollManifest.Entry manifestEntry(PollData pd, long version) {
+        return new PollManifest.Entry(pd.id, pd.readableId, pd.closed, pd.closesAt, pd.closedAt, version);
+    }
+
+    /**
+     * Reconciles the manifest with the hot directory on startup
+     *
+     * <p>Only file names are listed; poll files are parsed just for polls the manifest doesn't
+     * know about (all of them when the manifest is missing or unreadable)</p>
+     */
+    private void syncManifest() {
+        boolean loaded = manifest.load();
+
+        Set<UUID> onDisk = new HashSet<>();
+        for (File f : listPollFiles()) {
+            String name = f.getName();
+            onDisk.add(UUID.fromString(name.substring(0, name.length() - ".json".length())));
+        }
+
+        Set<UUID> known = manifest.ids();
+        Map<UUID, PollManifest.Entry> added = new HashMap<>();
+        for (UUID id : onDisk) {
+            if (known.contains(id)) continue;
+            try {
+                PollData pd = readHotPoll(id);
+                if (pd != null) added.put(id, manifestEntry(pd, 1L));
+            } catch (IOException e) {
+                logger.severe("Failed to read poll file for " + id + ": " + e.getMessage());
+            }
+        }
+
+        List<UUID> stale = new ArrayList<>();
+        for (UUID id : known) if (!onDisk.contains(id)) stale.add(id);
+
+        try {
+            manifest.removeAll(stale);
+            manifest.putAll(added);
+        } catch (IOException e) {
+            logger.warning("Failed to write poll manifest: " + e.getMessage());
+        }
+
+        if (!loaded) {
+            logger.info("Rebuilt poll manifest from " + added.size() + " poll files");
+        } else if (!added.isEmpty() || !stale.isEmpty()) {
+            logger.info("Poll manifest reconciled (+" + added.size() + " / -" + stale.size() + ")");
+        }
+    }
+
+    /** Names of hot poll files are exactly {@code <uuid>.json} */
+    private File[] listPollFiles() {
+        File[] files = baseDir.listFiles((dir, name) -> isPollFileName(name));
+        return files != null ? files : new File[0];
+    }
+
+    private static boolean isPollFileName(String name) {
+        if (!name.endsWith(".json") || name.length() != 36 + ".json".length()) return false;
+        try {
+            UUID.fromString(name.substring(0, 36));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a hot poll file under its poll lock
+     *
+     * <p>Bulk loads don't take any global lock: each poll is read under its own lock, so it is
+     * seen either before or after a concurrent write, never mid-write</p>
+     *
+     * @return the poll data, or null if it was deleted/archived meanwhile or is corrupt
+     */
+    private @Nullable PollData readHotPoll(UUID pollId) throws IOException {
+        synchronized (lockFor(pollId)) {
+            File f = pollFile(pollId);
+            if (!f.exists()) return null;
+            return parsePollFile(f);
+        }
+    }
+
+    /** Appends every archived poll to {@code out} (used when loading without a retention window) */
+    private void loadArchivedPolls(List<Poll> out) {
+        try {
+            archive.forEachPoll(json -> {
+                PollData pd = gson.fromJson(json, PollData.class);
+                if (pd != null) out.add(fromData(pd));
+            });
+        } catch (Exception e) {
+            logger.warning("Failed to read archived polls: " + e.getMessage());
+        }
+    }
+
+    /** A closed poll due for archiving; {@code data} is set when the file was already parsed */
+    private record ArchiveCandidate(@NotNull UUID pollId, long closedAt, @Nullable PollData data) {}
+
+    /**
+     * Moves closed polls that fell out of the retention window into the archive,
+     * removing their hot files afterward
+     * <p>Each poll's files are read and removed under its own lock; closed polls no longer
+     * receive vote writes, so the bundle itself is written without holding any poll lock. A poll
+     * deleted in that window is taken back out of the archive once its lock is held again.
+     * Sweeps run one at a time, so a missing hot file always means a delete</p>
+     */
+    private synchronized void archivePolls(List<ArchiveCandidate> closed) {
+        if (closed.isEmpty()) return;
+
+        List<PollArchive.Entry> entries = new ArrayList<>(closed.size());
+        for (ArchiveCandidate c : closed) {
+            try {
+                String pollJson;
+                String votes;
+                synchronized (lockFor(c.pollId())) {
+                    File f = pollFile(c.pollId());
+                    if (!f.exists()) continue;
+                    pollJson = c.data() != null
+                            ? gson.toJson(c.data())
+                            : Files.readString(f.toPath(), StandardCharsets.UTF_8);
+                    votes = VotesJson.toJson(loadVotesRaw(c.pollId()));
+                }
+                entries.add(new PollArchive.Entry(c.pollId(), c.closedAt(), pollJson, votes));
+            } catch (Exception e) {
+                logger.warning("Skipping archive of poll '" + c.pollId() + "': " + e.getMessage());
+            }
+        }
+
+        try {
+            archive.archive(entries);
+        } catch (IOException e) {
+            logger.warning("Failed to archive closed polls: " + e.getMessage());
+            return;
+        }
+
+        List<UUID> archived = new ArrayList<>(entries.size());
+        for (PollArchive.Entry e : entries) {
+            try {
+                synchronized (lockFor(e.pollId())) {
+                    if (!pollFile(e.pollId()).exists()) {
+                        // deleted while the bundle was written
+                        archive.remove(e.pollId());
+                        continue;
+                    }
+                    Files.deleteIfExists(pollFile(e.pollId()).toPath());
+                    Files.deleteIfExists(votesFile(e.pollId()).toPath());
+                    Files.deleteIfExists(legacyVotesFile(e.pollId()).toPath());
+                    journal.delete(e.pollId());
+                    knownVoters.remove(e.pollId());
+                    archived.add(e.pollId());
+                }
+            } catch (IOException ex) {
+                logger.warning("Archived poll " + e.pollId() + " but failed to remove hot files: "
+                        + ex.getMessage());
+            }
+        }
+
+        try {
+            manifest.removeAll(archived);
+        } catch (IOException e) {
+            logger.warning("Failed to update poll manifest: " + e.getMessage());
+        }
+
+        if (archived.isEmpty()) return;
+        logger.info("Archived " + archived.size() + " closed polls (" + archive.size() + " total in archive)");
+    }
+
     @Override
     public CompletableFuture<Void> closePoll(@NotNull UUID pollId, @NotNull Instant closedAt) {
         return CompletableFuture.runAsync(() -> {
-            synchronized (ioLock) {
+            synchronized (lockFor(pollId)) {
+                // archived polls are closed by definition; never resurrect them into the hot directory
+                if (!pollFile(pollId).exists()) return;
                 var opt = loadPollData(pollId);
                 if (opt.isEmpty()) return;
                 var pd = opt.get();
@@ -298,13 +797,59 @@ public class FlatFilePollStorage implements PollStorage {
         });
     }
 
+    /**
+     * Closes the batch in one task: each poll file is rewritten under its own lock, and the
+     * manifest is written once for the whole batch
+     */
+    @Override
+    public CompletableFuture<Void> closePolls(@NotNull Map<UUID, Instant> closedAt) {
+        if (closedAt.isEmpty()) return CompletableFuture.completedFuture(null);
+        final Map<UUID, Instant> batch = Map.copyOf(closedAt);
+
+        return CompletableFuture.runAsync(() -> {
+            Map<UUID, PollManifest.Entry> updated = new HashMap<>(batch.size() * 2);
+            RuntimeException failure = null;
+
+            for (var e : batch.entrySet()) {
+                UUID pollId = e.getKey();
+                synchronized (lockFor(pollId)) {
+                    if (!pollFile(pollId).exists()) continue;
+                    var opt = loadPollData(pollId);
+                    if (opt.isEmpty()) continue;
+                    var pd = opt.get();
+                    pd.closed = true;
+                    pd.closedAt = e.getValue().toEpochMilli();
+                    try {
+                        writePollFile(pollId, pd);
+                        updated.put(pollId, manifestEntry(pd, manifest.versionOf(pollId) + 1));
+                    } catch (IOException | RuntimeException ex) {
+                        // keep closing the rest; report the first failure
+                        if (failure == null) failure = new RuntimeException("Failed to close poll " + pollId, ex);
+                    }
+                }
+            }
+
+            try {
+                if (!updated.isEmpty()) manifest.putAll(updated);
+            } catch (IOException ex) {
+                if (failure == null) failure = new RuntimeException(ex);
+            }
+            if (failure != null) throw failure;
+        });
+    }
+
     @Override
     public CompletableFuture<Void> deletePoll(@NotNull UUID pollId) {
         return CompletableFuture.runAsync(() -> {
-            synchronized (ioLock) {
+            synchronized (lockFor(pollId)) {
                 try {
                     Files.deleteIfExists(pollFile(pollId).toPath());
                     Files.deleteIfExists(votesFile(pollId).toPath());
+                    Files.deleteIfExists(legacyVotesFile(pollId).toPath());
+                    journal.delete(pollId);
+                    knownVoters.remove(pollId);
+                    archive.remove(pollId);
+                    manifest.removeAll(List.of(pollId));
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
@@ -314,24 +859,126 @@ public class FlatFilePollStorage implements PollStorage {
 
     /* Voter Specific */
 
-    private Map<String, Set<Integer>> loadVotesRaw(UUID pollId) {
+    /**
+     * Loads the current selections for a poll: the last snapshot with any journal
+     * records replayed on top
+     */
+    private Map<UUID, Set<Integer>> loadVotesRaw(UUID pollId) {
+        Map<UUID, Set<Integer>> votes = loadVotesSnapshot(pollId);
+        try {
+            journal.replay(pollId, votes);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        knownVoters.put(pollId, votes.size());
+        return votes;
+    }
+
+    /** Reads whichever snapshot exists, preferring the configured format */
+    private Map<UUID, Set<Integer>> loadVotesSnapshot(UUID pollId) {
         File f = votesFile(pollId);
-        if (!f.exists()) return new HashMap<>();
+        if (!f.exists()) f = legacyVotesFile(pollId);
+        if (!f.exists()) return loadArchivedVotes(pollId);
+
+        if (f.getName().endsWith(BINARY_VOTES_SUFFIX)) {
+            try (InputStream in = Files.newInputStream(f.toPath())) {
+                return BinaryVotes.readSnapshot(in, Files.size(f.toPath()));
+            } catch (IOException e) {
+                // header/length/checksum mismatch; journal records are still replayed on top
+                quarantine(f, e);
+                return new HashMap<>();
+            }
+        }
+
         try (Reader r = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
-            Map<String, Set<Integer>> m = gson.fromJson(r, VOTES_MAP_TYPE);
-            return (m != null) ? m : new HashMap<>();
+            return VotesJson.read(r);
+        } catch (JsonParseException e) {
+            // journal records (if any) are still replayed on top of the empty snapshot
+            quarantine(f, e);
+            return new HashMap<>();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Map<UUID, Set<Integer>> loadArchivedVotes(UUID pollId) {
+        if (!archive.contains(pollId)) return new HashMap<>();
+        try {
+            return archive.readVotes(pollId)
+                    .map(VotesJson::read)
+                    .orElseGet(HashMap::new);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void saveVotesRaw(UUID pollId, Map<String, Set<Integer>> votes) {
+    /**
+     * Writes a full snapshot, folding (and removing) any journal for the poll
+     * <p>Callers must pass the merged view from {@link #loadVotesRaw(UUID)}</p>
+     */
+    private void saveVotesRaw(UUID pollId, Map<UUID, Set<Integer>> votes) {
         File f = votesFile(pollId);
-        try (Writer w = Files.newBufferedWriter(f.toPath(), StandardCharsets.UTF_8)) {
-            gson.toJson(votes, VOTES_MAP_TYPE, w);
+        try {
+            if (binaryVotes) {
+                fileSync.writeAtomically(f.toPath(), out -> BinaryVotes.writeSnapshot(out, votes));
+            } else {
+                fileSync.writeAtomically(f.toPath(), out -> {
+                    Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                    VotesJson.write(w, votes);
+                });
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        try {
+            Files.deleteIfExists(legacyVotesFile(pollId).toPath());
+            journal.delete(pollId);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        knownVoters.put(pollId, votes.size());
+    }
+
+    /**
+     * Persists a single voter change according to the configured {@link PollStorageConfig.VoteWriteMode}
+     * <p>Must be called while holding the poll's io lock</p>
+     */
+    private void writeSelection(UUID pollId, UUID voterId, Set<Integer> indices) {
+        if (voteMode == PollStorageConfig.VoteWriteMode.JOURNAL) {
+            try {
+                journal.append(pollId, voterId, indices);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            compactIfDue(pollId);
+            return;
+        }
+
+        Map<UUID, Set<Integer>> votes = loadVotesRaw(pollId);
+        if (indices.isEmpty()) {
+            // treat empty set as delete
+            votes.remove(voterId);
+        } else {
+            votes.put(voterId, SelectionMasks.canonical(indices));
+        }
+        saveVotesRaw(pollId, votes);
+    }
+
+    /**
+     * Folds the journal into the snapshot once it outgrows both the configured threshold
+     * and the poll's voter count, keeping the amortised cost per write constant
+     */
+    private void compactIfDue(UUID pollId) {
+        int threshold = Math.max(compactAfter, knownVoters.getOrDefault(pollId, 0));
+        if (journal.recordCount(pollId) < threshold) return;
+
+        try {
+            saveVotesRaw(pollId, loadVotesRaw(pollId));
+        } catch (RuntimeException e) {
+            // journal is still intact; retry on a later write
+            logger.warning("Failed to compact vote journal for poll " + pollId + ": " + e.getMessage());
+        }
     }
 
     @Override
@@ -343,15 +990,8 @@ public class FlatFilePollStorage implements PollStorage {
         final Set<Integer> clean = Set.copyOf(indices);
 
         return CompletableFuture.runAsync(() -> {
-           synchronized (ioLock) {
-               Map<String, Set<Integer>> votes = loadVotesRaw(pollId);
-               if (clean.isEmpty()) {
-                   // treat empty set as delete
-                   votes.remove(voterId.toString());
-               } else {
-                   votes.put(voterId.toString(), new HashSet<>(clean));
-               }
-               saveVotesRaw(pollId, votes);
+           synchronized (lockFor(pollId)) {
+               writeSelection(pollId, voterId, clean);
            }
         });
     }
@@ -359,10 +999,8 @@ public class FlatFilePollStorage implements PollStorage {
     @Override
     public CompletableFuture<Void> deleteVoterSelection(@NotNull UUID pollId, @NotNull UUID voterId) {
         return CompletableFuture.runAsync(() -> {
-            synchronized (ioLock) {
-                Map<String, Set<Integer>> votes = loadVotesRaw(pollId);
-                votes.remove(voterId.toString());
-                saveVotesRaw(pollId, votes);
+            synchronized (lockFor(pollId)) {
+                writeSelection(pollId, voterId, Set.of());
             }
         });
     }
@@ -370,10 +1008,9 @@ public class FlatFilePollStorage implements PollStorage {
     @Override
     public CompletableFuture<Set<Integer>> loadVoterSelection(@NotNull UUID pollId, @NotNull UUID voterId) {
         return CompletableFuture.supplyAsync(() -> {
-            synchronized (ioLock) {
-                Map<String, Set<Integer>> votes = loadVotesRaw(pollId);
-                Set<Integer> s = votes.get(voterId.toString());
-                return (s == null || s.isEmpty()) ? Set.of() : Set.copyOf(s);
+            synchronized (lockFor(pollId)) {
+                Set<Integer> s = loadVotesRaw(pollId).get(voterId);
+                return s != null ? s : Set.of();
             }
         });
     }
@@ -381,16 +1018,33 @@ public class FlatFilePollStorage implements PollStorage {
     @Override
     public CompletableFuture<Set<UUID>> loadVoters(@NotNull UUID pollId) {
         return CompletableFuture.supplyAsync(() -> {
-            synchronized (ioLock) {
-                Map<String, Set<Integer>> votes = loadVotesRaw(pollId);
-                Set<UUID> out = new HashSet<>(votes.size());
-                for (var e : votes.entrySet()) {
-                    if (e.getValue() == null || e.getValue().isEmpty()) continue;
-                    try {
-                        out.add(UUID.fromString(e.getKey()));
-                    } catch (IllegalArgumentException ignored) {}
+            synchronized (lockFor(pollId)) {
+                // every decoded entry has a non-empty selection
+                return Collections.unmodifiableSet(loadVotesRaw(pollId).keySet());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> streamSelections(
+        @NotNull Collection<UUID> pollIds,
+        @NotNull SelectionSink sink
+    ) {
+        final List<UUID> ids = List.copyOf(pollIds);
+        return CompletableFuture.runAsync(() -> {
+            for (UUID pollId : ids) {
+                Map<UUID, Set<Integer>> votes;
+                try {
+                    synchronized (lockFor(pollId)) {
+                        votes = loadVotesRaw(pollId);
+                    }
+                } catch (RuntimeException e) {
+                    // keep going; one unreadable poll shouldn't hold back the others
+                    logger.warning("Failed to read votes for poll " + pollId + ": " + e.getMessage());
+                    continue;
                 }
-                return Collections.unmodifiableSet(out);
+                // sink runs outside the io lock
+                votes.forEach((voter, sel) -> sink.accept(pollId, voter, SelectionMasks.toMask(sel)));
             }
         });
     }
@@ -398,17 +1052,9 @@ public class FlatFilePollStorage implements PollStorage {
     @Override
     public CompletableFuture<Map<UUID, Set<Integer>>> loadAllSelections(@NotNull UUID pollId) {
         return CompletableFuture.supplyAsync(() -> {
-            synchronized (ioLock) {
-                Map<String, Set<Integer>> raw = loadVotesRaw(pollId);
-                Map<UUID, Set<Integer>> out = new HashMap<>(raw.size());
-                for (var e : raw.entrySet()) {
-                    if (e.getValue() == null || e.getValue().isEmpty()) continue;
-                    try {
-                        UUID uid = UUID.fromString(e.getKey());
-                        out.put(uid, Set.copyOf(e.getValue()));
-                    } catch (IllegalArgumentException ignored) {}
-                }
-                return Collections.unmodifiableMap(out);
+            synchronized (lockFor(pollId)) {
+                // decoded in one pass into a fresh map holding shared immutable selection sets
+                return Collections.unmodifiableMap(loadVotesRaw(pollId));
             }
         });
     }
@@ -0,0 +1,219 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Cold storage tier for long-closed polls in the flatfile backend
+ *
+ * <p>Polls are rolled into one compressed zip bundle per month of closure
+ * ({@code archive/2025-08.zip}) holding {@code <id>.json} and {@code <id>-votes.json}.
+ * A small {@code archive/index.json} maps poll ids to their bundle so single polls
+ * can be read back on demand without scanning every bundle</p>
+ *
+ * <p>All operations are serialized on this instance; archive access is rare compared to hot reads</p>
+ *
+ * @author Cammy
+ */
+final class PollArchive {
+
+    private static final Type INDEX_TYPE = new TypeToken<Map<String, String>>() {}.getType();
+    private static final DateTimeFormatter BUNDLE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+
+    private final File dir;
+    private final File indexFile;
+    private final Gson gson;
+    private final FileSync sync;
+    private final Logger logger;
+
+    /** pollId -> bundle file name */
+    private final Map<UUID, String> index = new ConcurrentHashMap<>();
+
+    /** A closed poll ready to be moved into the archive */
+    record Entry(
+        @NotNull UUID pollId,
+        long closedAt,
+        @NotNull String pollJson,
+        @NotNull String votesJson
+    ) {}
+
+    PollArchive(@NotNull File dir, @NotNull Gson gson, @NotNull FileSync sync, @NotNull Logger logger) {
+        this.dir = dir;
+        this.indexFile = new File(dir, "index.json");
+        this.gson = gson;
+        this.sync = sync;
+        this.logger = logger;
+        this.dir.mkdirs();
+        loadIndex();
+    }
+
+    boolean contains(@NotNull UUID pollId) {
+        return index.containsKey(pollId);
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Writes the given polls into their monthly bundles and records them in the index
+     * <p>Callers remove the hot files only after this returns successfully</p>
+     */
+    synchronized void archive(@NotNull Collection<Entry> entries) throws IOException {
+        if (entries.isEmpty()) return;
+
+        Map<String, List<Entry>> byBundle = new TreeMap<>();
+        for (Entry e : entries) {
+            String bundle = BUNDLE_FORMAT.format(Instant.ofEpochMilli(e.closedAt())) + ".zip";
+            byBundle.computeIfAbsent(bundle, k -> new ArrayList<>()).add(e);
+        }
+
+        for (var bundle : byBundle.entrySet()) {
+            try (FileSystem zfs = openBundle(bundle.getKey())) {
+                for (Entry e : bundle.getValue()) {
+                    writeEntry(zfs, pollEntry(e.pollId()), e.pollJson());
+                    writeEntry(zfs, votesEntry(e.pollId()), e.votesJson());
+                }
+            }
+            for (Entry e : bundle.getValue()) index.put(e.pollId(), bundle.getKey());
+        }
+
+        saveIndex();
+    }
+
+    synchronized Optional<String> readPoll(@NotNull UUID pollId) throws IOException {
+        return read(pollId, pollEntry(pollId));
+    }
+
+    synchronized Optional<String> readVotes(@NotNull UUID pollId) throws IOException {
+        return read(pollId, votesEntry(pollId));
+    }
+
+    /** Visits the raw poll JSON of every archived poll */
+    synchronized void forEachPoll(@NotNull Consumer<String> visitor) throws IOException {
+        Map<String, List<UUID>> byBundle = new TreeMap<>();
+        index.forEach((id, bundle) -> byBundle.computeIfAbsent(bundle, k -> new ArrayList<>()).add(id));
+
+        for (var bundle : byBundle.entrySet()) {
+            File f = new File(dir, bundle.getKey());
+            if (!f.exists()) continue;
+            try (ZipFile zf = new ZipFile(f, StandardCharsets.UTF_8)) {
+                for (UUID id : bundle.getValue()) {
+                    ZipEntry ze = zf.getEntry(pollEntry(id));
+                    if (ze == null) continue;
+                    try (InputStream in = zf.getInputStream(ze)) {
+                        visitor.accept(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Drops an archived poll from its bundle and the index */
+    synchronized void remove(@NotNull UUID pollId) throws IOException {
+        String bundle = index.remove(pollId);
+        if (bundle == null) return;
+
+        File f = new File(dir, bundle);
+        if (f.exists()) {
+            try (FileSystem zfs = openBundle(bundle)) {
+                Files.deleteIfExists(zfs.getPath(pollEntry(pollId)));
+                Files.deleteIfExists(zfs.getPath(votesEntry(pollId)));
+            }
+        }
+
+        saveIndex();
+    }
+
+    /* ---- Internals ---- */
+
+    private Optional<String> read(UUID pollId, String entryName) throws IOException {
+        String bundle = index.get(pollId);
+        if (bundle == null) return Optional.empty();
+
+        File f = new File(dir, bundle);
+        if (!f.exists()) {
+            logger.warning("Archive bundle " + bundle + " is missing (poll " + pollId + ")");
+            return Optional.empty();
+        }
+
+        try (ZipFile zf = new ZipFile(f, StandardCharsets.UTF_8)) {
+            ZipEntry ze = zf.getEntry(entryName);
+            if (ze == null) return Optional.empty();
+            try (InputStream in = zf.getInputStream(ze)) {
+                return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private FileSystem openBundle(String bundle) throws IOException {
+        Path zip = new File(dir, bundle).toPath().toAbsolutePath();
+        URI uri = URI.create("jar:" + zip.toUri());
+        return FileSystems.newFileSystem(uri, Map.of("create", "true"));
+    }
+
+    private static void writeEntry(FileSystem zfs, String name, String content) throws IOException {
+        Files.writeString(zfs.getPath(name), content, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static String pollEntry(UUID pollId) {
+        return pollId + ".json";
+    }
+
+    private static String votesEntry(UUID pollId) {
+        return pollId + "-votes.json";
+    }
+
+    private void loadIndex() {
+        if (!indexFile.exists()) return;
+        try (Reader r = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, String> raw = gson.fromJson(r, INDEX_TYPE);
+            if (raw == null) return;
+            raw.forEach((id, bundle) -> {
+                try {
+                    index.put(UUID.fromString(id), bundle);
+                } catch (IllegalArgumentException ignored) {}
+            });
+        } catch (Exception e) {
+            logger.severe("Failed to read poll archive index: " + e.getMessage());
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        Map<String, String> raw = new TreeMap<>();
+        index.forEach((id, bundle) -> raw.put(id.toString(), bundle));
+        sync.writeAtomically(indexFile.toPath(), out -> {
+            Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(raw, INDEX_TYPE, w);
+            w.flush();
+        });
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Compact index of the hot poll files in the flatfile backend
+ *
+ * <p>Holds just enough metadata per poll (status and timestamps) for active/recent
+ * lookups to decide which poll files to read without parsing every file in the directory.
+ * Kept in memory and persisted as {@code manifest.json} on every create/close/delete/archive</p>
+ *
+ * <p>Poll files are always written before the manifest, so the manifest can lag behind
+ * the files but never run ahead of them. {@link FlatFilePollStorage} reconciles it against
+ * the directory listing on startup</p>
+ *
+ * @author Cammy
+ */
+final class PollManifest {
+
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Manifest record for a single poll
+     *
+     * @param version number of times this poll's file has been written, bumped on every update
+     */
+    record Entry(
+        @NotNull String id,
+        @Nullable String readableId,
+        boolean closed,
+        long closesAt,
+        @Nullable Long closedAt,
+        long version
+    ) {}
+
+    /** On-disk layout */
+    private static final class Data {
+        int formatVersion = FORMAT_VERSION;
+        long generation;
+        List<Entry> polls = new ArrayList<>();
+    }
+
+    private final File file;
+    private final Gson gson;
+    private final FileSync sync;
+    private final Logger logger;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private long generation;
+
+    PollManifest(@NotNull File file, @NotNull Gson gson, @NotNull FileSync sync, @NotNull Logger logger) {
+        this.file = file;
+        this.gson = gson;
+        this.sync = sync;
+        this.logger = logger;
+    }
+
+    /**
+     * Loads the manifest from disk
+     *
+     * @return false if it is missing or unreadable, in which case it must be rebuilt
+     */
+    synchronized boolean load() {
+        entries.clear();
+        if (!file.exists()) return false;
+
+        try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Data data = gson.fromJson(r, Data.class);
+            if (data == null || data.polls == null || data.formatVersion != FORMAT_VERSION) return false;
+
+            this.generation = data.generation;
+            for (Entry e : data.polls) {
+                try {
+                    entries.put(UUID.fromString(e.id()), e);
+                } catch (IllegalArgumentException | NullPointerException ignored) {}
+            }
+            return true;
+        } catch (IOException | JsonParseException e) {
+            logger.warning("Poll manifest unreadable, rebuilding: " + e.getMessage());
+            entries.clear();
+            return false;
+        }
+    }
+
+    @Nullable Entry get(@NotNull UUID pollId) {
+        return entries.get(pollId);
+    }
+
+    /** Snapshot of all entries */
+    List<Entry> entries() {
+        return List.copyOf(entries.values());
+    }
+
+    Set<UUID> ids() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    /** Current version for a poll, 0 if unknown */
+    long versionOf(@NotNull UUID pollId) {
+        Entry e = entries.get(pollId);
+        return e != null ? e.version() : 0L;
+    }
+
+    synchronized void put(@NotNull UUID pollId, @NotNull Entry entry) throws IOException {
+        entries.put(pollId, entry);
+        save();
+    }
+
+    synchronized void putAll(@NotNull Map<UUID, Entry> updates) throws IOException {
+        if (updates.isEmpty()) return;
+        entries.putAll(updates);
+        save();
+    }
+
+    /**
+     * Like {@link #putAll} for entries computed outside the poll's io lock: each one only replaces
+     * the current entry if it is not older, so a concurrent write that already landed is kept
+     */
+    synchronized void mergeAll(@NotNull Map<UUID, Entry> updates) throws IOException {
+        boolean changed = false;
+        for (var u : updates.entrySet()) {
+            Entry current = entries.get(u.getKey());
+            Entry merged = entries.merge(u.getKey(), u.getValue(), PollManifest::newer);
+            changed |= merged != current;
+        }
+        if (changed) save();
+    }
+
+    /** The later of two entries for the same poll: higher version first, then closed over open */
+    private static Entry newer(Entry current, Entry update) {
+        if (update.version() != current.version()) return update.version() > current.version() ? update : current;
+        if (update.closed() != current.closed()) return update.closed() ? update : current;
+        long currentAt = current.closedAt() != null ? current.closedAt() : Long.MIN_VALUE;
+        long updateAt = update.closedAt() != null ? update.closedAt() : Long.MIN_VALUE;
+        return updateAt > currentAt ? update : current;
+    }
+
+    synchronized void removeAll(@NotNull Collection<UUID> pollIds) throws IOException {
+        boolean changed = false;
+        for (UUID id : pollIds) changed |= entries.remove(id) != null;
+        if (changed) save();
+    }
+
+    private void save() throws IOException {
+        Data data = new Data();
+        data.generation = ++generation;
+        data.polls = new ArrayList<>(entries.values());
+        data.polls.sort(Comparator.comparing(Entry::id));
+
+        sync.writeAtomically(file.toPath(), out -> {
+            Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(data, Data.class, w);
+            w.flush();
+        });
+    }
+
+}
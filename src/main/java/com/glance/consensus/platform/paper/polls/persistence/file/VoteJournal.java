@@ -0,0 +1,269 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Append-only per-poll log of selection changes for the flatfile backend
+ *
+ * <p>Each change is written as a single line {@code <voterId>=<idx,idx,...>}; an empty
+ * index list clears the voter. Replaying the log over the last votes snapshot yields the
+ * current selections, so a write only costs one small append regardless of poll size</p>
+ *
+ * <p>In binary mode records are fixed 17-byte {@link BinaryVotes} records in {@code <poll>-votes.jlog}
+ * instead. A journal left in the other format is still replayed (first) and removed with the active one</p>
+ *
+ * <p>Not thread-safe on its own: callers must hold the poll's io lock</p>
+ *
+ * @author Cammy
+ */
+final class VoteJournal {
+
+    static final String TEXT_SUFFIX = "-votes.log";
+    static final String BINARY_SUFFIX = "-votes.jlog";
+
+    private final File dir;
+    private final FileSync sync;
+    private final Logger logger;
+    private final boolean binary;
+
+    /** pollId -> records appended since the last compaction */
+    private final Map<UUID, Integer> records = new ConcurrentHashMap<>();
+
+    VoteJournal(@NotNull File dir, @NotNull FileSync sync, @NotNull Logger logger, boolean binary) {
+        this.dir = dir;
+        this.sync = sync;
+        this.logger = logger;
+        this.binary = binary;
+    }
+
+    /** Journal in the configured format */
+    File file(@NotNull UUID pollId) {
+        return new File(dir, pollId + (binary ? BINARY_SUFFIX : TEXT_SUFFIX));
+    }
+
+    /** Journal in the other format, left over from before a format switch */
+    File legacyFile(@NotNull UUID pollId) {
+        return new File(dir, pollId + (binary ? TEXT_SUFFIX : BINARY_SUFFIX));
+    }
+
+    boolean exists(@NotNull UUID pollId) {
+        return file(pollId).exists() || legacyFile(pollId).exists();
+    }
+
+    /** Records appended since the last compaction (as far as this process knows) */
+    int recordCount(@NotNull UUID pollId) {
+        return records.getOrDefault(pollId, 0);
+    }
+
+    /**
+     * Appends a single selection change
+     *
+     * @param pollId poll id
+     * @param voterId voter id
+     * @param indices full selection for the voter (empty to clear)
+     */
+    void append(
+        @NotNull UUID pollId,
+        @NotNull UUID voterId,
+        @NotNull Set<Integer> indices
+    ) throws IOException {
+        if (binary) {
+            sync.append(file(pollId).toPath(), BinaryVotes.encodeRecord(voterId, SelectionMasks.toMask(indices)));
+            records.merge(pollId, 1, Integer::sum);
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(48).append(voterId).append('=');
+        boolean first = true;
+        for (int m = SelectionMasks.toMask(indices); m != 0; m &= m - 1) {
+            if (!first) line.append(',');
+            line.append(Integer.numberOfTrailingZeros(m));
+            first = false;
+        }
+        line.append('\n');
+
+        sync.append(file(pollId).toPath(), line.toString().getBytes(StandardCharsets.UTF_8));
+        records.merge(pollId, 1, Integer::sum);
+    }
+
+    /**
+     * Replays the journal on top of {@code into}, applying changes in write order
+     *
+     * <p>A record only counts once it is complete (its line ends in a newline, or all of its
+     * fixed-size bytes are present), so a torn final append is dropped rather than applied.
+     * Unparseable lines are skipped</p>
+     *
+     * @return number of records replayed
+     */
+    int replay(@NotNull UUID pollId, @NotNull Map<UUID, Set<Integer>> into) throws IOException {
+        File legacy = legacyFile(pollId);
+        File f = file(pollId);
+        if (!f.exists() && !legacy.exists()) {
+            records.remove(pollId);
+            return 0;
+        }
+
+        int count = 0;
+        if (legacy.exists()) count += replayFile(legacy, into);
+        if (f.exists()) count += replayFile(f, into);
+
+        records.put(pollId, count);
+        return count;
+    }
+
+    private int replayFile(File f, Map<UUID, Set<Integer>> into) throws IOException {
+        return f.getName().endsWith(BINARY_SUFFIX) ? replayBinary(f, into) : replayText(f, into);
+    }
+
+    private int replayBinary(File f, Map<UUID, Set<Integer>> into) throws IOException {
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(f.toPath())))) {
+            while (true) {
+                UUID voter;
+                int mask;
+                try {
+                    voter = new UUID(in.readLong(), in.readLong());
+                    mask = in.readUnsignedByte();
+                } catch (EOFException eof) {
+                    break; // end of log, or a torn final record
+                }
+
+                if (mask == 0) into.remove(voter);
+                else into.put(voter, SelectionMasks.toSet(mask));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int replayText(File f, Map<UUID, Set<Integer>> into) throws IOException {
+        int count = 0;
+        int skipped = 0;
+        final boolean tailComplete = endsWithNewline(f);
+        try (BufferedReader r = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            String next = r.readLine();
+            while ((line = next) != null) {
+                next = r.readLine();
+                // the last line without a trailing newline is a torn append, however parseable
+                if (next == null && !tailComplete) {
+                    logger.warning("Dropped a partial trailing vote journal record in " + f.getPath());
+                    break;
+                }
+                if (line.isEmpty()) continue;
+                int sep = line.indexOf('=');
+                if (sep <= 0) {
+                    skipped++;
+                    continue;
+                }
+
+                UUID voter;
+                int mask;
+                try {
+                    voter = UUID.fromString(line.substring(0, sep));
+                    mask = parseMask(line.substring(sep + 1));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    continue;
+                }
+
+                if (mask == 0) into.remove(voter);
+                else into.put(voter, SelectionMasks.toSet(mask));
+                count++;
+            }
+        }
+
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " unreadable vote journal records in " + f.getPath());
+        }
+        return count;
+    }
+
+    private static boolean endsWithNewline(File f) throws IOException {
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return true;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            ch.read(one, size - 1);
+            return one.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Truncates a torn final record (left by a crash mid-append) so later appends
+     * start on a clean line
+     *
+     * @return true if the file was repaired
+     */
+    boolean repairTail(@NotNull File f) throws IOException {
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            if (size == 0) return false;
+
+            if (f.getName().endsWith(BINARY_SUFFIX)) {
+                long whole = size - (size % BinaryVotes.RECORD_BYTES);
+                if (whole == size) return false;
+                ch.truncate(whole);
+                ch.force(true);
+                return true;
+            }
+
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long pos = size - 1;
+            ch.read(one, pos);
+            if (one.get(0) == '\n') return false;
+
+            // walk back to the last complete line
+            while (pos > 0) {
+                one.clear();
+                ch.read(one, pos - 1);
+                if (one.get(0) == '\n') break;
+                pos--;
+            }
+            ch.truncate(pos);
+            ch.force(true);
+            return true;
+        }
+    }
+
+    /** Removes the journal after its contents have been folded into a snapshot */
+    void delete(@NotNull UUID pollId) throws IOException {
+        Files.deleteIfExists(file(pollId).toPath());
+        Files.deleteIfExists(legacyFile(pollId).toPath());
+        records.remove(pollId);
+    }
+
+    private static int parseMask(String raw) {
+        if (raw.isEmpty()) return 0;
+        int mask = 0;
+        int start = 0;
+        while (start <= raw.length()) {
+            int end = raw.indexOf(',', start);
+            if (end < 0) end = raw.length();
+            int idx = Integer.parseInt(raw, start, end, 10);
+            if (idx < 0 || idx > SelectionMasks.MAX_INDEX) {
+                throw new IllegalArgumentException("Option index out of range: " + idx);
+            }
+            mask |= 1 << idx;
+            start = end + 1;
+        }
+        return mask;
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Streaming codec for JSON vote snapshots ({@code {"<voterId>": [idx, ...], ...}})
+ *
+ * <p>Decodes straight into the storage's {@code Map<UUID, Set<Integer>>} in one pass: indices are
+ * folded into a bitmask and mapped to the shared sets from {@link SelectionMasks}, so no
+ * intermediate String-keyed map, boxed lists or per-voter {@code HashSet}s are built</p>
+ *
+ * @author Cammy
+ */
+final class VotesJson {
+
+    private VotesJson() {}
+
+    /**
+     * Reads a votes object; entries with unparseable voter ids or empty selections are dropped
+     *
+     * @throws JsonParseException if the document is not a votes object or is cut short
+     */
+    static @NotNull Map<UUID, Set<Integer>> read(@NotNull Reader reader) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        try {
+            JsonToken first;
+            try {
+                first = in.peek();
+            } catch (EOFException e) {
+                return new HashMap<>(); // empty file
+            }
+            if (first == JsonToken.END_DOCUMENT) return new HashMap<>();
+            if (first == JsonToken.NULL) {
+                in.nextNull();
+                return new HashMap<>();
+            }
+
+            Map<UUID, Set<Integer>> out = new HashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                int mask = readMask(in);
+
+                UUID voter;
+                try {
+                    voter = UUID.fromString(key);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (mask != 0) out.put(voter, SelectionMasks.toSet(mask));
+            }
+            in.endObject();
+            return out;
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonParseException("Malformed votes file: " + e.getMessage(), e);
+        } catch (EOFException e) {
+            // truncated mid-write; corrupt like any other malformed file, not an io failure
+            throw new JsonParseException("Truncated votes file: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            // index outside the mask range
+            throw new JsonParseException(e.getMessage(), e);
+        }
+    }
+
+    static @NotNull Map<UUID, Set<Integer>> read(@NotNull String json) {
+        try {
+            return read(new StringReader(json));
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private static int readMask(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+
+        int mask = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            int idx = in.nextInt();
+            if (idx < 0 || idx > SelectionMasks.MAX_INDEX) {
+                throw new IllegalArgumentException("Option index out of range: " + idx);
+            }
+            mask |= 1 << idx;
+        }
+        in.endArray();
+        return mask;
+    }
+
+    /** Writes a compact votes object, skipping empty selections */
+    static void write(@NotNull Writer writer, @NotNull Map<UUID, Set<Integer>> votes) throws IOException {
+        JsonWriter out = new JsonWriter(writer);
+        out.beginObject();
+        for (var e : votes.entrySet()) {
+            Set<Integer> sel = e.getValue();
+            if (sel == null || sel.isEmpty()) continue;
+
+            out.name(e.getKey().toString());
+            out.beginArray();
+            int mask = SelectionMasks.toMask(sel);
+            for (int m = mask; m != 0; m &= m - 1) out.value(Integer.numberOfTrailingZeros(m));
+            out.endArray();
+        }
+        out.endObject();
+        out.flush();
+    }
+
+    static @NotNull String toJson(@NotNull Map<UUID, Set<Integer>> votes) {
+        StringWriter sw = new StringWriter(votes.size() * 48 + 2);
+        try {
+            write(sw, votes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringWriter doesn't throw
+        }
+        return sw.toString();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlDaos;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollSelectionRow;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Copies selections from the legacy {@code voter_selection} table into {@code vote_masks}
+ *
+ * <p>Works in small batches of polls (in poll id order), each in its own transaction. Rows already
+ * present in {@code vote_masks} are newer and are never overwritten, so an interrupted migration
+ * simply starts over on the next start. Once everything is copied the legacy table is renamed to
+ * {@code voter_selection_legacy} rather than dropped, so the pre-migration votes stay recoverable</p>
+ *
+ * <p>Votes cast after the switch only exist in {@code vote_masks}; a LEGACY start over such a
+ * database is refused instead of silently showing every poll without votes</p>
+ *
+ * @author Cammy
+ */
+final class CompactVoteMigrator {
+
+    private static final int POLLS_PER_BATCH = 50;
+
+    private final Jdbi jdbi;
+    private final SqlDaos daos;
+    private final Logger logger;
+
+    CompactVoteMigrator(@NotNull Jdbi jdbi, @NotNull SqlDaos daos, @NotNull Logger logger) {
+        this.jdbi = jdbi;
+        this.daos = daos;
+        this.logger = logger;
+    }
+
+    void migrate() {
+        boolean legacyPresent = jdbi.withExtension(daos.votes(), dao -> dao.tableCount() > 0);
+        if (!legacyPresent) return;
+
+        long start = System.currentTimeMillis();
+        int polls = 0;
+        int voters = 0;
+        String after = "";
+
+        while (true) {
+            final String from = after;
+            Batch moved = jdbi.inTransaction(h -> {
+                var legacy = h.attach(daos.votes());
+                var compact = h.attach(daos.compactVotes());
+
+                List<String> batch = legacy.findPollIdsAfter(from, POLLS_PER_BATCH);
+                if (batch.isEmpty()) return null;
+
+                List<byte[]> pids = new ArrayList<>();
+                List<byte[]> vids = new ArrayList<>();
+                List<Integer> masks = new ArrayList<>();
+                try (ResultIterator<PollSelectionRow> it = legacy.streamSelections(batch).iterator()) {
+                    LegacyVoteTable.fold(it, (pollId, voterId, mask) -> {
+                        pids.add(UuidBytes.toBytes(pollId));
+                        vids.add(UuidBytes.toBytes(voterId));
+                        masks.add(mask);
+                    });
+                }
+
+                if (!masks.isEmpty()) compact.insertMissing(pids, vids, masks);
+                return new Batch(batch.getLast(), batch.size(), masks.size());
+            });
+
+            if (moved == null) break;
+            after = moved.lastPollId();
+            polls += moved.polls();
+            voters += moved.voters();
+        }
+
+        jdbi.useTransaction(h -> {
+            var legacy = h.attach(daos.votes());
+            legacy.dropLegacyBackup();
+            legacy.renameToLegacyBackup();
+        });
+
+        logger.info("Migrated " + voters + " vote selections across " + polls
+                + " polls to the compact schema in " + (System.currentTimeMillis() - start)
+                + "ms; the old rows are kept in voter_selection_legacy");
+    }
+
+    /**
+     * Refuses a LEGACY start once votes live in the compact layout
+     *
+     * @throws IllegalStateException if {@code vote_masks} holds any selection
+     */
+    void requireNoCompactVotes() {
+        boolean compactVotes = jdbi.withExtension(daos.compactVotes(),
+                dao -> dao.tableCount() > 0 && dao.findAnySelection().isPresent());
+        if (!compactVotes) return;
+
+        throw new IllegalStateException("Votes are stored in the COMPACT schema (vote_masks) but "
+                + "storage.sql.votes.schema is LEGACY. Set it back to COMPACT; votes from before the "
+                + "migration are also kept in voter_selection_legacy");
+    }
+
+    private record Batch(@NotNull String lastPollId, int polls, int voters) {}
+
+}
@@ -0,0 +1,112 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.CompactVoteDao;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollMaskRow;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Compact layout: {@code vote_masks}, one row per (poll, voter) keyed by 16-byte UUIDs
+ *
+ * @author Cammy
+ */
+final class CompactVoteTable implements VoteTable {
+
+    private final Class<? extends CompactVoteDao> daoType;
+
+    CompactVoteTable(@NotNull Class<? extends CompactVoteDao> daoType) {
+        this.daoType = daoType;
+    }
+
+    @Override
+    public int mask(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId) {
+        return h.attach(daoType)
+                .findMask(UuidBytes.toBytes(pollId), UuidBytes.toBytes(voterId))
+                .orElse(0);
+    }
+
+    @Override
+    public @NotNull Map<Voter, Integer> masks(@NotNull Handle h, @NotNull List<Write> writes) {
+        var dao = h.attach(daoType);
+        Map<Voter, Integer> out = new HashMap<>(Math.max(16, writes.size() * 2));
+        for (int from = 0; from < writes.size(); from += STREAM_CHUNK) {
+            var chunk = writes.subList(from, Math.min(writes.size(), from + STREAM_CHUNK));
+            Set<Voter> wanted = new HashSet<>(chunk.size() * 2);
+            Set<UUID> pollIds = new LinkedHashSet<>();
+            Set<UUID> voterIds = new LinkedHashSet<>();
+            for (Write w : chunk) {
+                wanted.add(w.voter());
+                pollIds.add(w.pollId());
+                voterIds.add(w.voterId());
+            }
+
+            // the IN lists match a superset of the wanted pairs; keep only those asked for
+            for (var r : dao.findMasksFor(toBytes(pollIds), toBytes(voterIds))) {
+                Voter v = new Voter(UuidBytes.fromBytes(r.pollId()), UuidBytes.fromBytes(r.voterId()));
+                if (r.mask() != 0 && wanted.contains(v)) out.put(v, r.mask());
+            }
+        }
+        return out;
+    }
+
+    private static List<byte[]> toBytes(Collection<UUID> ids) {
+        List<byte[]> out = new ArrayList<>(ids.size());
+        for (UUID id : ids) out.add(UuidBytes.toBytes(id));
+        return out;
+    }
+
+    @Override
+    public void replace(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        h.attach(daoType).upsert(UuidBytes.toBytes(pollId), UuidBytes.toBytes(voterId), mask);
+    }
+
+    @Override
+    public void replaceAll(@NotNull Handle h, @NotNull List<Write> writes) {
+        final int size = writes.size();
+        final List<byte[]> pids = new ArrayList<>(size);
+        final List<byte[]> vids = new ArrayList<>(size);
+        final List<Integer> masks = new ArrayList<>(size);
+        for (Write w : writes) {
+            pids.add(UuidBytes.toBytes(w.pollId()));
+            vids.add(UuidBytes.toBytes(w.voterId()));
+            masks.add(w.mask());
+        }
+        h.attach(daoType).upsertAll(pids, vids, masks);
+    }
+
+    @Override
+    public void deletePoll(@NotNull Handle h, @NotNull UUID pollId) {
+        h.attach(daoType).deleteAllForPoll(UuidBytes.toBytes(pollId));
+    }
+
+    @Override
+    public @NotNull Map<UUID, Set<Integer>> load(@NotNull Handle h, @NotNull UUID pollId) {
+        var rows = h.attach(daoType).findMasks(UuidBytes.toBytes(pollId));
+        Map<UUID, Set<Integer>> out = new HashMap<>(Math.max(16, rows.size() * 2));
+        for (var r : rows) {
+            out.put(UuidBytes.fromBytes(r.voterId()), SelectionMasks.toSet(r.mask()));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public void stream(@NotNull Handle h, @NotNull List<UUID> pollIds, @NotNull PollStorage.SelectionSink sink) {
+        final List<byte[]> ids = pollIds.stream().map(UuidBytes::toBytes).toList();
+        var dao = h.attach(daoType);
+        for (int from = 0; from < ids.size(); from += STREAM_CHUNK) {
+            var chunk = ids.subList(from, Math.min(ids.size(), from + STREAM_CHUNK));
+            try (ResultIterator<PollMaskRow> it = dao.streamMasks(chunk).iterator()) {
+                while (it.hasNext()) {
+                    PollMaskRow r = it.next();
+                    sink.accept(UuidBytes.fromBytes(r.pollId()), UuidBytes.fromBytes(r.voterId()), r.mask());
+                }
+            }
+        }
+    }
+
+}
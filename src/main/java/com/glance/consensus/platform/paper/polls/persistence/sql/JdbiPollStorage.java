@@ -1,23 +1,30 @@
 package com.glance.consensus.platform.paper.polls.persistence.sql;
 
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollDefinition;
 import com.glance.consensus.platform.paper.polls.domain.PollOption;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
+import com.glance.consensus.platform.paper.polls.persistence.PollChangeFeed;
 import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
-import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqliteAnswerDao;
-import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlitePollDao;
-import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqliteVoteDao;
+import com.glance.consensus.platform.paper.polls.persistence.config.PollStorageConfig;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlDaos;
 import com.glance.consensus.platform.paper.polls.persistence.sql.data.AnswerRow;
 import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollWithAnswers;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class JdbiPollStorage implements PollStorage {
@@ -25,10 +32,33 @@ public class JdbiPollStorage implements PollStorage {
     private final Plugin plugin;
     private final SqlBootstrap sql;
 
+    /** Single writer thread + reader pool; nothing runs on the common pool */
+    private final SqlExecutors exec;
+
+    /** DAO set for the connected dialect */
+    private final SqlDaos daos;
+
+    /** Tally-maintaining view of the selection layout */
+    private final TalliedVoteTable tallies;
+
+    /** Selection writes go through here (tallies, plus the change log when syncing) */
+    private final VoteTable votes;
+
+    /** Shared change log, null unless multi-server sync is enabled */
+    private final @Nullable SqlChangeLog changes;
+
+    /** Coalescing vote writer, null when write-behind is disabled */
+    private final @Nullable VoteWriteBehind writeBehind;
+
+    /** Periodic housekeeping (stats logging, change log pruning); never touches a connection itself */
+    private final ScheduledExecutorService maintenance =
+            Executors.newSingleThreadScheduledExecutor(SqlExecutors.named("Consensus-SqlMaintenance"));
+
     @Inject
     public JdbiPollStorage(
         @NotNull final Plugin plugin,
-        @NotNull final SqlBootstrap sql
+        @NotNull final SqlBootstrap sql,
+        @NotNull final PollStorageConfig cfg
     ) {
         this.plugin = plugin;
         this.sql = sql;
@@ -47,9 +77,55 @@ public class JdbiPollStorage implements PollStorage {
             }
         }
 
-        // TODO
+        this.daos = sql.daos();
+
+        // one pooled connection stays with the writer, the rest serve reads
+        this.exec = new SqlExecutors(sql.jdbi(), plugin.getLogger(), Math.max(1, cfg.getMaxPool() - 1));
+
+        this.tallies = new TalliedVoteTable(VoteTable.forSchema(cfg.getVoteSchema(), daos), daos.tallies());
+        this.changes = cfg.isSyncEnabled()
+                ? new SqlChangeLog(exec, daos.changes(), plugin.getLogger(),
+                        cfg.getSyncPollMs(), cfg.getSyncRetentionMinutes())
+                : null;
+        this.votes = changes != null ? new LoggedVoteTable(tallies, changes) : tallies;
+
+        this.writeBehind = cfg.isWriteBehindEnabled()
+                ? new VoteWriteBehind(exec, votes, plugin.getLogger(),
+                        cfg.getWriteBehindFlushMs(), cfg.getWriteBehindMaxBatch())
+                : null;
+
+        plugin.getLogger().info("JDBI poll storage initialised (" + sql.dialect() + ", "
+                + cfg.getVoteSchema() + " vote schema)"
+                + (writeBehind != null ? " with vote write-behind" : "")
+                + (changes != null ? ", syncing as node " + changes.nodeId() : ""));
+
+        if (changes != null) {
+            long every = SqlChangeLog.PRUNE_INTERVAL_MS;
+            maintenance.scheduleAtFixedRate(changes::prune, every, every, TimeUnit.MILLISECONDS);
+        }
+        if (cfg.getStatsIntervalMinutes() > 0) {
+            long every = cfg.getStatsIntervalMinutes();
+            maintenance.scheduleAtFixedRate(this::logStats, every, every, TimeUnit.MINUTES);
+        }
+    }
+
+    private void logStats() {
+        try {
+            plugin.getLogger().info(sql.poolSummary());
+            exec.logStats();
+            if (writeBehind != null) writeBehind.logStats();
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            plugin.getLogger().warning("Failed to log SQL stats: " + e.getMessage());
+        }
+    }
 
-        plugin.getLogger().info("JDBI poll storage initialised (" + sql.dialect() + ")");
+    @Override
+    public void shutdown() {
+        maintenance.shutdownNow();
+        // buffered votes go through the writer, so drain them first
+        if (writeBehind != null) writeBehind.close();
+        exec.close();
     }
 
     /* ---- Helpers ---- */
@@ -60,7 +136,7 @@ public class JdbiPollStorage implements PollStorage {
         List<PollOption> opts = new ArrayList<>(answers.size());
         for (var a : answers) {
             // reads & aggregates votes later
-            opts.add(new PollOption(a.idx(), a.labelRaw(), a.tooltipRaw(), 0));
+            opts.add(new PollOption(a.idx(), a.labelRaw(), a.tooltipRaw()));
         }
         PollRules rules = new PollRules(
             pr.multipleChoice() != 0,
@@ -68,39 +144,46 @@ public class JdbiPollStorage implements PollStorage {
                 pr.allowResubmissions() != 0,
                 pr.showResults() != 0
         );
-        Poll p = new Poll(
+        PollDefinition def = new PollDefinition(
             UUID.fromString(pr.id()),
             pr.readableId() != null ? pr.readableId() : pr.id(),
             UUID.fromString(pr.owner()),
             pr.questionRaw(),
             Instant.ofEpochMilli(pr.createdAt()),
             Instant.ofEpochMilli(pr.closesAt()),
-            (pr.closedAt() == null) ? null : Instant.ofEpochMilli(pr.closedAt()),
             opts,
             rules
         );
+        Poll p = new Poll(def, (pr.closedAt() == null) ? null : Instant.ofEpochMilli(pr.closedAt()));
 
         p.setClosed(pr.closed() != 0);
         return p;
     }
 
+    private static List<Poll> toDomain(List<PollWithAnswers> rows) {
+        List<Poll> out = new ArrayList<>(rows.size());
+        for (var r : rows) out.add(toDomain(r.poll(), r.answers()));
+        return out;
+    }
+
     /* ---- Poll API ---- */
 
     @Override
     public CompletableFuture<Void> createPoll(@NotNull Poll poll) {
-        PollRules rules = poll.getRules();
-        return CompletableFuture.runAsync(() -> {
-            sql.jdbi().useTransaction(h -> {
-                var pollDao = h.attach(SqlitePollDao.class);
-                var ansDao = h.attach(SqliteAnswerDao.class);
+        final PollDefinition def = poll.getDefinition();
+        final PollRules rules = def.getRules();
+        return exec.write(handle -> {
+            handle.useTransaction(h -> {
+                var pollDao = h.attach(daos.polls());
+                var ansDao = h.attach(daos.answers());
 
                 pollDao.upsertPoll(
-                    poll.getId().toString(),
-                    poll.getPollIdentifier(),
-                    poll.getOwner().toString(),
-                    poll.getQuestionRaw(),
-                    poll.getCreatedAt().toEpochMilli(),
-                    poll.getClosesAt().toEpochMilli(),
+                    def.getId().toString(),
+                    def.getPollIdentifier(),
+                    def.getOwner().toString(),
+                    def.getQuestionRaw(),
+                    def.getCreatedAt().toEpochMilli(),
+                    def.getClosesAt().toEpochMilli(),
                     poll.getClosedAt() == null ? null : poll.getClosedAt().toEpochMilli(),
                     b(poll.isClosed()),
                     b(rules.multipleChoice()),
@@ -110,101 +193,111 @@ public class JdbiPollStorage implements PollStorage {
                 );
 
                 // replace answers
-                pollDao.deleteAnswers(poll.getId().toString());
-                if (!poll.getOptions().isEmpty()) {
-                    int size=  poll.getOptions().size();
+                pollDao.deleteAnswers(def.getId().toString());
+                if (!def.getOptions().isEmpty()) {
+                    int size = def.getOptions().size();
                     List<Integer> idx = new ArrayList<>(size);
                     List<String> labels = new ArrayList<>(size);
                     List<String> tooltips = new ArrayList<>(size);
-                    for (var o : poll.getOptions()) {
+                    for (var o : def.getOptions()) {
                         idx.add(o.index());
                         labels.add(o.labelRaw());
                         tooltips.add(o.tooltipRaw());
                     }
-                    ansDao.insertAnswers(poll.getId().toString(), idx, labels, tooltips);
+                    ansDao.insertAnswers(def.getId().toString(), idx, labels, tooltips);
                 }
+
+                if (changes != null) changes.created(h, poll.getId());
             });
+            return null;
         });
     }
 
     @Override
     public CompletableFuture<Optional<Poll>> loadPoll(@NotNull UUID pollId) {
-        return CompletableFuture.supplyAsync(() ->
-            sql.jdbi().withHandle(h -> {
-                var pollDao = h.attach(SqlitePollDao.class);
-                var ansDao = h.attach(SqliteAnswerDao.class);
+        return exec.read(h -> {
+            var pollDao = h.attach(daos.polls());
+            var ansDao = h.attach(daos.answers());
 
-                var pr = pollDao.findPoll(pollId.toString());
-                if (pr.isEmpty()) return Optional.empty();
+            var pr = pollDao.findPoll(pollId.toString());
+            if (pr.isEmpty()) return Optional.empty();
 
-                var answers = ansDao.findAnswers(pollId.toString());
-                return Optional.of(toDomain(pr.get(), answers));
-            })
-        );
+            var answers = ansDao.findAnswers(pollId.toString());
+            return Optional.of(toDomain(pr.get(), answers));
+        });
     }
 
     @Override
     public CompletableFuture<List<Poll>> loadActivePolls() {
-        return CompletableFuture.supplyAsync(() ->
-            sql.jdbi().withHandle(h -> {
-                var pollDao = h.attach(SqlitePollDao.class);
-                var ansDao  = h.attach(SqliteAnswerDao.class);
-
-                long now = System.currentTimeMillis();
-                var rows = pollDao.findActive(now);
-                List<Poll> out = new ArrayList<>(rows.size());
-                for (var r : rows) {
-                    var answers = ansDao.findAnswers(r.id());
-                    out.add(toDomain(r, answers));
-                }
-                return out;
-            })
-        );
+        return exec.read(h -> {
+            long now = System.currentTimeMillis();
+            return toDomain(h.attach(daos.polls()).findActiveWithAnswers(now));
+        });
     }
 
     @Override
     public CompletableFuture<List<Poll>> loadRecentPolls(@NotNull Duration retention) {
-        return CompletableFuture.supplyAsync(() ->
-            sql.jdbi().withHandle(h -> {
-                var pollDao = h.attach(SqlitePollDao.class);
-                var ansDao = h.attach(SqliteAnswerDao.class);
-
-                long now = System.currentTimeMillis();
-                long cutoff = retention.isNegative() ? Long.MIN_VALUE : (now - retention.toMillis());
+        final long now = System.currentTimeMillis();
+        final long cutoff = retention.isNegative() ? Long.MIN_VALUE : (now - retention.toMillis());
 
-                int autoClosed = pollDao.closeOverdue(now);
+        // the auto-close is a mutation and goes through the writer; the load itself is a plain read
+        return exec.write(h -> h.attach(daos.polls()).closeOverdue(now))
+            .thenCompose(autoClosed -> {
                 if (autoClosed > 0) {
                     plugin.getLogger().info("Auto-Closed " + autoClosed + " overdue polls");
                 }
 
-                var rows = pollDao.findRecent(now, cutoff);
-                List<Poll> out = new ArrayList<>(rows.size());
-                for (var r : rows) {
-                    var answers = ansDao.findAnswers(r.id());
-                    out.add(toDomain(r, answers));
-                }
-                return out;
-            })
-        );
+                return exec.read(h ->
+                    toDomain(h.attach(daos.polls()).findRecentWithAnswers(now, cutoff)));
+            });
     }
 
     @Override
     public CompletableFuture<Void> closePoll(@NotNull UUID pollId, @NotNull Instant closedAt) {
-        return CompletableFuture.runAsync(() ->
-            sql.jdbi().useExtension(SqlitePollDao.class,
-                    dao -> dao.closePoll(pollId.toString(), closedAt.toEpochMilli()))
-        );
+        return exec.write(handle -> {
+            handle.useTransaction(h -> {
+                h.attach(daos.polls()).closePoll(pollId.toString(), closedAt.toEpochMilli());
+                if (changes != null) changes.closed(h, pollId, closedAt);
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> closePolls(@NotNull Map<UUID, Instant> closedAt) {
+        if (closedAt.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        // the writer runs later; never read the caller's map from there
+        final Map<UUID, Instant> closes = Map.copyOf(closedAt);
+        final int size = closes.size();
+        final List<String> ids = new ArrayList<>(size);
+        final List<Long> times = new ArrayList<>(size);
+        closes.forEach((id, at) -> {
+            ids.add(id.toString());
+            times.add(at.toEpochMilli());
+        });
+
+        return exec.write(handle -> {
+            handle.useTransaction(h -> {
+                h.attach(daos.polls()).closePolls(ids, times);
+                if (changes != null) closes.forEach((id, at) -> changes.closed(h, id, at));
+            });
+            return null;
+        });
     }
 
     @Override
     public CompletableFuture<Void> deletePoll(@NotNull UUID pollId) {
-        return CompletableFuture.runAsync(() ->
-            sql.jdbi().useTransaction(h -> {
-                var pollDao = h.attach(SqlitePollDao.class);
-                // ON DELETE CASCADE will clear answers + votes
-                pollDao.deletePoll(pollId.toString());
-            })
-        );
+        if (writeBehind != null) writeBehind.discard(pollId);
+        return exec.write(handle -> {
+            handle.useTransaction(h -> {
+                votes.deletePoll(h, pollId);
+                // ON DELETE CASCADE will clear answers (+ legacy votes)
+                h.attach(daos.polls()).deletePoll(pollId.toString());
+                if (changes != null) changes.deleted(h, pollId);
+            });
+            return null;
+        });
     }
 
     /* ---- Vote API ---- */
@@ -215,36 +308,53 @@ public class JdbiPollStorage implements PollStorage {
         @NotNull UUID voterId,
         @NotNull Set<Integer> indices
     ) {
-        final List<Integer> ordered = indices.stream().sorted().toList();
-        return CompletableFuture.runAsync(() ->
-            sql.jdbi().useTransaction(h -> {
-                var voteDao = h.attach(SqliteVoteDao.class);
-                final String pid = pollId.toString();
-                final String vid = voterId.toString();
-
-                voteDao.deleteVoter(pid, vid);
-                if (!ordered.isEmpty()) {
-                    voteDao.insertSelections(pid, vid, ordered);
-                }
-            })
-        );
+        final int mask = SelectionMasks.toMask(indices);
+        if (writeBehind != null) return writeBehind.submit(pollId, voterId, mask);
+
+        return exec.write(handle -> {
+            handle.useTransaction(h -> votes.replace(h, pollId, voterId, mask));
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> streamSelections(
+        @NotNull Collection<UUID> pollIds,
+        @NotNull SelectionSink sink
+    ) {
+        final List<UUID> ids = List.copyOf(pollIds);
+        if (ids.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return exec.read(h -> {
+            votes.stream(h, ids, sink);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<Integer>> loadVoterSelection(@NotNull UUID pollId, @NotNull UUID voterId) {
+        return exec.read(h -> SelectionMasks.toSet(votes.mask(h, pollId, voterId)));
     }
 
     @Override
     public CompletableFuture<Map<UUID, Set<Integer>>> loadAllSelections(@NotNull UUID pollId) {
-        return CompletableFuture.supplyAsync(() ->
-            sql.jdbi().withExtension(SqliteVoteDao.class, dao -> {
-                var rows = dao.findSelections(pollId.toString());
-                Map<UUID, Set<Integer>> out = new LinkedHashMap<>();
-                for (var r : rows) {
-                    UUID uid;
-                    try { uid = UUID.fromString(r.voterId()); } catch (Exception e) { continue; }
-                    out.computeIfAbsent(uid, k -> new LinkedHashSet<>()).add(r.optionIdx());
-                }
-                out.replaceAll((k, v) -> Collections.unmodifiableSet(v));
-                return Collections.unmodifiableMap(out);
-            })
-        );
+        return exec.read(h -> votes.load(h, pollId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Integer>> loadTallies(@NotNull UUID pollId) {
+        if (writeBehind != null) {
+            // tallies only move when buffered votes commit; don't serve counts that lag behind them
+            return writeBehind.flushNow().thenCompose(v -> exec.read(h -> tallies.tallies(h, pollId)));
+        }
+        return exec.read(h -> tallies.tallies(h, pollId));
+    }
+
+    /* ---- Multi-server ---- */
+
+    @Override
+    public Optional<PollChangeFeed> changeFeed() {
+        return Optional.ofNullable(changes);
     }
 
 }
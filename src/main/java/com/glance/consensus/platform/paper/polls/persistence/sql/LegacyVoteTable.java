@@ -0,0 +1,159 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.VoteDao;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollSelectionRow;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Original layout: TEXT ids, one {@code voter_selection} row per selected option
+ * <p>Poll deletes are handled by {@code ON DELETE CASCADE}</p>
+ *
+ * @author Cammy
+ */
+final class LegacyVoteTable implements VoteTable {
+
+    private final Class<? extends VoteDao> daoType;
+
+    LegacyVoteTable(@NotNull Class<? extends VoteDao> daoType) {
+        this.daoType = daoType;
+    }
+
+    @Override
+    public int mask(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId) {
+        int mask = 0;
+        for (int idx : h.attach(daoType).findVoterIndices(pollId.toString(), voterId.toString())) {
+            if (idx >= 0 && idx <= SelectionMasks.MAX_INDEX) mask |= 1 << idx;
+        }
+        return mask;
+    }
+
+    @Override
+    public @NotNull Map<Voter, Integer> masks(@NotNull Handle h, @NotNull List<Write> writes) {
+        var dao = h.attach(daoType);
+        Map<Voter, Integer> out = new HashMap<>(Math.max(16, writes.size() * 2));
+        for (int from = 0; from < writes.size(); from += STREAM_CHUNK) {
+            var chunk = writes.subList(from, Math.min(writes.size(), from + STREAM_CHUNK));
+            Set<Voter> wanted = new HashSet<>(chunk.size() * 2);
+            Set<String> pollIds = new LinkedHashSet<>();
+            Set<String> voterIds = new LinkedHashSet<>();
+            for (Write w : chunk) {
+                wanted.add(w.voter());
+                pollIds.add(w.pollId().toString());
+                voterIds.add(w.voterId().toString());
+            }
+
+            // the IN lists match a superset of the wanted pairs; keep only those asked for
+            var rows = dao.findSelectionsFor(List.copyOf(pollIds), List.copyOf(voterIds));
+            fold(rows.iterator(), (pollId, voterId, mask) -> {
+                Voter v = new Voter(pollId, voterId);
+                if (wanted.contains(v)) out.put(v, mask);
+            });
+        }
+        return out;
+    }
+
+    @Override
+    public void replace(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        var dao = h.attach(daoType);
+        final String pid = pollId.toString();
+        final String vid = voterId.toString();
+
+        dao.deleteVoter(pid, vid);
+        if (mask != 0) {
+            dao.insertSelections(pid, vid, indices(mask));
+        }
+    }
+
+    @Override
+    public void replaceAll(@NotNull Handle h, @NotNull List<Write> writes) {
+        final int size = writes.size();
+        final List<String> delPids = new ArrayList<>(size);
+        final List<String> delVids = new ArrayList<>(size);
+        final List<String> insPids = new ArrayList<>(size);
+        final List<String> insVids = new ArrayList<>(size);
+        final List<Integer> insIdx = new ArrayList<>(size);
+        for (Write w : writes) {
+            String pid = w.pollId().toString();
+            String vid = w.voterId().toString();
+            delPids.add(pid);
+            delVids.add(vid);
+            for (int idx : indices(w.mask())) {
+                insPids.add(pid);
+                insVids.add(vid);
+                insIdx.add(idx);
+            }
+        }
+
+        var dao = h.attach(daoType);
+        dao.deleteVoters(delPids, delVids);
+        if (!insIdx.isEmpty()) dao.insertSelectionRows(insPids, insVids, insIdx);
+    }
+
+    @Override
+    public void deletePoll(@NotNull Handle h, @NotNull UUID pollId) {
+        // ON DELETE CASCADE
+    }
+
+    @Override
+    public @NotNull Map<UUID, Set<Integer>> load(@NotNull Handle h, @NotNull UUID pollId) {
+        var rows = h.attach(daoType).findSelections(pollId.toString());
+        Map<UUID, Set<Integer>> out = new LinkedHashMap<>();
+        for (var r : rows) {
+            UUID uid;
+            try { uid = UUID.fromString(r.voterId()); } catch (Exception e) { continue; }
+            out.computeIfAbsent(uid, k -> new LinkedHashSet<>()).add(r.optionIdx());
+        }
+        out.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public void stream(@NotNull Handle h, @NotNull List<UUID> pollIds, @NotNull PollStorage.SelectionSink sink) {
+        final List<String> ids = pollIds.stream().map(UUID::toString).toList();
+        var dao = h.attach(daoType);
+        for (int from = 0; from < ids.size(); from += STREAM_CHUNK) {
+            var chunk = ids.subList(from, Math.min(ids.size(), from + STREAM_CHUNK));
+            try (ResultIterator<PollSelectionRow> it = dao.streamSelections(chunk).iterator()) {
+                fold(it, sink);
+            }
+        }
+    }
+
+    /** Folds rows ordered by (poll, voter) into one sink call per voter */
+    static void fold(Iterator<PollSelectionRow> rows, PollStorage.SelectionSink sink) {
+        String pollKey = null;
+        String voterKey = null;
+        UUID poll = null;
+        UUID voter = null;
+        int mask = 0;
+
+        while (rows.hasNext()) {
+            PollSelectionRow r = rows.next();
+            if (!r.voterId().equals(voterKey) || !r.pollId().equals(pollKey)) {
+                if (voter != null && mask != 0) sink.accept(poll, voter, mask);
+                if (!r.pollId().equals(pollKey)) {
+                    pollKey = r.pollId();
+                    poll = UUID.fromString(pollKey);
+                }
+                voterKey = r.voterId();
+                try { voter = UUID.fromString(voterKey); } catch (IllegalArgumentException e) { voter = null; }
+                mask = 0;
+            }
+            if (r.optionIdx() >= 0 && r.optionIdx() <= SelectionMasks.MAX_INDEX) mask |= 1 << r.optionIdx();
+        }
+        if (voter != null && mask != 0) sink.accept(poll, voter, mask);
+    }
+
+    private static List<Integer> indices(int mask) {
+        List<Integer> out = new ArrayList<>(Integer.bitCount(mask));
+        for (int m = mask; m != 0; m &= m - 1) out.add(Integer.numberOfTrailingZeros(m));
+        return out;
+    }
+
+}
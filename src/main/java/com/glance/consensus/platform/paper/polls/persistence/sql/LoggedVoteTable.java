@@ -0,0 +1,65 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import org.jdbi.v3.core.Handle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Appends every selection write to the {@link SqlChangeLog} in the caller's transaction
+ *
+ * @author Cammy
+ */
+final class LoggedVoteTable implements VoteTable {
+
+    private final VoteTable delegate;
+    private final SqlChangeLog changes;
+
+    LoggedVoteTable(@NotNull VoteTable delegate, @NotNull SqlChangeLog changes) {
+        this.delegate = delegate;
+        this.changes = changes;
+    }
+
+    @Override
+    public void replace(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        delegate.replace(h, pollId, voterId, mask);
+        changes.voted(h, pollId, voterId, mask);
+    }
+
+    @Override
+    public void replaceAll(@NotNull Handle h, @NotNull List<Write> writes) {
+        delegate.replaceAll(h, writes);
+        changes.voted(h, writes);
+    }
+
+    @Override
+    public void deletePoll(@NotNull Handle h, @NotNull UUID pollId) {
+        // the poll delete itself is logged by the storage
+        delegate.deletePoll(h, pollId);
+    }
+
+    @Override
+    public int mask(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId) {
+        return delegate.mask(h, pollId, voterId);
+    }
+
+    @Override
+    public @NotNull Map<Voter, Integer> masks(@NotNull Handle h, @NotNull List<Write> writes) {
+        return delegate.masks(h, writes);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Set<Integer>> load(@NotNull Handle h, @NotNull UUID pollId) {
+        return delegate.load(h, pollId);
+    }
+
+    @Override
+    public void stream(@NotNull Handle h, @NotNull List<UUID> pollIds, @NotNull PollStorage.SelectionSink sink) {
+        delegate.stream(h, pollIds, sink);
+    }
+
+}
@@ -1,11 +1,12 @@
 package com.glance.consensus.platform.paper.polls.persistence.sql;
 
 import com.glance.consensus.platform.paper.polls.persistence.config.PollStorageConfig;
-import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlitePollDao;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlDaos;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.bukkit.plugin.Plugin;
@@ -18,6 +19,8 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.sql.DataSource;
 import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
 
 @Singleton
 @Getter
@@ -27,9 +30,40 @@ public class SqlBootstrap {
     private final DataSource dataSource;
     private final Jdbi jdbi;
     private final Dialect dialect;
+    private final SqlDaos daos;
 
     public enum Dialect { SQLITE, MYSQL, MARIADB }
 
+    /**
+     * Dialect for a JDBC URL
+     * <p>H2 in MySQL / MariaDB mode ({@code jdbc:h2:mem:polls;MODE=MySQL}) counts as that dialect,
+     * so the MySQL statements can be exercised against an embedded database</p>
+     *
+     * @throws IllegalArgumentException for URLs of any other database
+     */
+    public static @NotNull Dialect dialectOf(@NotNull String url) {
+        String u = url.toLowerCase(Locale.ROOT);
+        if (u.startsWith("jdbc:sqlite")) return Dialect.SQLITE;
+        if (u.startsWith("jdbc:mysql")) return Dialect.MYSQL;
+        if (u.startsWith("jdbc:mariadb")) return Dialect.MARIADB;
+        if (u.startsWith("jdbc:h2")) {
+            if (u.contains(";mode=mysql")) return Dialect.MYSQL;
+            if (u.contains(";mode=mariadb")) return Dialect.MARIADB;
+        }
+        throw new IllegalArgumentException("Unsupported JDBC URL (expected SQLite, MySQL or MariaDB): " + url);
+    }
+
+    /** Driver class a JDBC URL needs, for presence checks before the pool is built */
+    public static @NotNull String driverClassOf(@NotNull String url) {
+        String u = url.toLowerCase(Locale.ROOT);
+        if (u.startsWith("jdbc:h2")) return "org.h2.Driver";
+        return switch (dialectOf(url)) {
+            case SQLITE -> "org.sqlite.JDBC";
+            case MYSQL -> "com.mysql.cj.jdbc.Driver";
+            case MARIADB -> "org.mariadb.jdbc.Driver";
+        };
+    }
+
     @Inject
     public SqlBootstrap(
             @NotNull Plugin plugin,
@@ -46,37 +80,116 @@ public class SqlBootstrap {
         hc.setMaximumPoolSize(cfg.getMaxPool());
         hc.setMinimumIdle(cfg.getMinIdle());
 
+        this.dialect = dialectOf(url);
+        this.daos = daosFor(dialect);
+
+        if (dialect == Dialect.SQLITE) {
+            applySqliteProfile(hc, cfg.getSqliteProfile());
+        } else if (!url.toLowerCase(Locale.ROOT).startsWith("jdbc:h2")) {
+            // H2 stand-ins don't understand the server driver properties
+            applyServerProfile(hc, dialect);
+        }
+
         this.dataSource = new HikariDataSource(hc);
 
-        this.jdbi = Jdbi.create(this.dataSource)
-                .installPlugins()
-                .installPlugin(new SqlObjectPlugin());
+        this.jdbi = configure(Jdbi.create(this.dataSource));
+        initialiseSchema(jdbi, daos, cfg.getVoteSchema(), cfg.isSyncEnabled(), plugin.getLogger());
+    }
+
+    /** DAO set for a dialect; MariaDB and H2 in MySQL mode share the MySQL statements */
+    static @NotNull SqlDaos daosFor(@NotNull Dialect dialect) {
+        return dialect == Dialect.SQLITE ? SqlDaos.SQLITE : SqlDaos.MYSQL;
+    }
 
-        this.jdbi.getConfig(ReflectionMappers.class)
+    /** Installs the SqlObject plugin and the row mapping conventions the DAOs rely on */
+    static @NotNull Jdbi configure(@NotNull Jdbi jdbi) {
+        jdbi.installPlugins().installPlugin(new SqlObjectPlugin());
+        jdbi.getConfig(ReflectionMappers.class)
             .setColumnNameMatchers(List.of(
                 new SnakeCaseColumnNameMatcher(),
                 new CaseInsensitiveColumnNameMatcher()));
+        return jdbi;
+    }
 
-        this.dialect = url.startsWith("jdbc:sqlite") ? Dialect.SQLITE : Dialect.MYSQL;
+    /**
+     * Creates the schema once, migrating the vote layout and building the tally table as needed
+     *
+     * @throws IllegalStateException if a LEGACY start finds votes in the compact layout
+     */
+    static void initialiseSchema(
+        @NotNull Jdbi jdbi,
+        @NotNull SqlDaos daos,
+        @NotNull PollStorageConfig.VoteSchema voteSchema,
+        boolean sync,
+        @NotNull Logger logger
+    ) {
+        final boolean compact = voteSchema == PollStorageConfig.VoteSchema.COMPACT;
+        jdbi.useExtension(daos.polls(), dao -> dao.createSchema(!compact));
 
-        // Create schema once
-        if (dialect == Dialect.SQLITE) {
-            jdbi.useExtension(SqlitePollDao.class, dao -> {
-                try { dao.pragmaFK(); } catch (Exception ignored) {}
+        var migrator = new CompactVoteMigrator(jdbi, daos, logger);
+        if (compact) {
+            jdbi.useExtension(daos.compactVotes(), dao -> dao.createVoteMasks());
+            migrator.migrate();
+        } else {
+            migrator.requireNoCompactVotes();
+        }
+
+        TalliedVoteTable.initialise(jdbi, daos.tallies(), compact, logger);
 
-                dao.createPolls();
-                dao.createAnswers();
-                dao.createVotes();
+        if (sync) {
+            jdbi.useExtension(daos.changes(), dao -> dao.createChangeLog());
+        }
+    }
+
+    /** One-line connection pool summary for the periodic stats log */
+    @NotNull String poolSummary() {
+        if (!(dataSource instanceof HikariDataSource hds)) return "Connection pool: n/a";
+        HikariPoolMXBean pool = hds.getHikariPoolMXBean();
+        if (pool == null) return "Connection pool: not started";
+        return "Connection pool: " + pool.getActiveConnections() + " active, "
+                + pool.getIdleConnections() + " idle, " + pool.getTotalConnections() + " total, "
+                + pool.getThreadsAwaitingConnection() + " waiting";
+    }
 
-                dao.idxPollsActive();
-                dao.idxPollsClosedAt();
+    /**
+     * Applies the SQLite profile to every connection the pool opens
+     *
+     * <p>Passed as sqlite-jdbc driver properties, which the driver turns into pragmas as each
+     * connection is created. Per-connection pragmas like {@code foreign_keys} therefore hold on
+     * every pooled connection, not just the one that ran the schema setup</p>
+     */
+    private static void applySqliteProfile(HikariConfig hc, PollStorageConfig.SqliteProfile p) {
+        hc.addDataSourceProperty("foreign_keys", "true");
+        hc.addDataSourceProperty("journal_mode", p.journalMode());
+        hc.addDataSourceProperty("synchronous", p.synchronous());
+        hc.addDataSourceProperty("busy_timeout", String.valueOf(p.busyTimeoutMs()));
+        // negative cache_size is in KiB rather than pages
+        hc.addDataSourceProperty("cache_size", String.valueOf(-p.cacheSizeKb()));
+        hc.addDataSourceProperty("mmap_size", String.valueOf((long) p.mmapSizeMb() * 1024 * 1024));
+        hc.addDataSourceProperty("temp_store", p.tempStore());
+    }
 
-                dao.idxVotesPoll();
-                dao.idxVotesPollVoter();
-            });
-        } else {
-            throw new UnsupportedOperationException();
+    /**
+     * Driver properties for MySQL / MariaDB servers
+     *
+     * <p>Batched statements (vote flushes, migration, tally deltas) are rewritten into multi-row
+     * statements by the driver, one round trip per batch instead of one per row. Large selection
+     * reads stream through a server-side cursor in {@code @FetchSize} steps (MariaDB's driver
+     * already honours the fetch size)</p>
+     */
+    private static void applyServerProfile(HikariConfig hc, Dialect dialect) {
+        if (dialect == Dialect.MARIADB) {
+            hc.addDataSourceProperty("useBulkStmts", "true");
+            hc.addDataSourceProperty("cachePrepStmts", "true");
+            hc.addDataSourceProperty("prepStmtCacheSize", "250");
+            return;
         }
+        hc.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // without it Connector/J buffers whole result sets and ignores @FetchSize
+        hc.addDataSourceProperty("useCursorFetch", "true");
+        hc.addDataSourceProperty("cachePrepStmts", "true");
+        hc.addDataSourceProperty("prepStmtCacheSize", "250");
+        hc.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
     }
 
 }
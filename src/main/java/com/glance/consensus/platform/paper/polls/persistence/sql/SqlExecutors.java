@@ -0,0 +1,212 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.Jdbi;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Execution model for the SQL backend
+ *
+ * <ul>
+ *   <li>one writer thread owning a dedicated connection; every mutation is queued to it,
+ *       so writes never contend for SQLite's write lock</li>
+ *   <li>a bounded reader pool sharing the remaining pooled connections</li>
+ * </ul>
+ *
+ * <p>Queue depth and queue wait time are tracked per side, see {@link #stats()}</p>
+ *
+ * @author Cammy
+ */
+final class SqlExecutors implements AutoCloseable {
+
+    /** Queue waits longer than this are logged (at most once per {@link #WARN_INTERVAL_MS}) */
+    private static final long SLOW_WAIT_MS = 1000L;
+    private static final long WARN_INTERVAL_MS = 30_000L;
+
+    /**
+     * Point-in-time queue metrics
+     *
+     * @param writeQueueDepth writes waiting for the writer thread
+     * @param readQueueDepth reads waiting for a reader thread
+     * @param writes writes executed
+     * @param reads reads executed
+     * @param avgWriteWaitMillis mean time a write spent queued
+     * @param maxWriteWaitMillis longest time a write spent queued
+     * @param avgReadWaitMillis mean time a read spent queued
+     * @param maxReadWaitMillis longest time a read spent queued
+     */
+    record Stats(
+        int writeQueueDepth,
+        int readQueueDepth,
+        long writes,
+        long reads,
+        double avgWriteWaitMillis,
+        double maxWriteWaitMillis,
+        double avgReadWaitMillis,
+        double maxReadWaitMillis
+    ) {}
+
+    /** Wait-time accounting for one side */
+    private static final class Lane {
+        final String name;
+        final LongAdder count = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        double avgMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / n;
+        }
+
+        double maxMillis() {
+            return maxWaitNanos.get() / 1_000_000.0;
+        }
+    }
+
+    private final Jdbi jdbi;
+    private final Logger logger;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+    private final Lane writeLane = new Lane("write");
+    private final Lane readLane = new Lane("read");
+    private volatile long lastWarnAt;
+
+    /** Writer-thread-confined connection, reopened after a failure */
+    private Handle writeHandle;
+
+    SqlExecutors(@NotNull Jdbi jdbi, @NotNull Logger logger, int readThreads) {
+        this.jdbi = jdbi;
+        this.logger = logger;
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), named("Consensus-SqlWriter"));
+        this.readers = new ThreadPoolExecutor(readThreads, readThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), named("Consensus-SqlReader"));
+    }
+
+    /** Runs {@code work} on the writer thread against its dedicated connection */
+    <T> CompletableFuture<T> write(@NotNull HandleCallback<T, ? extends Exception> work) {
+        return submit(writer, writeLane, () -> {
+            Handle h = writeHandle();
+            try {
+                return work.withHandle(h);
+            } catch (Exception e) {
+                // don't keep a connection in an unknown state (e.g. mid-transaction)
+                discardWriteHandle();
+                throw asUnchecked(e);
+            }
+        });
+    }
+
+    /** Runs {@code work} on the reader pool with a pooled connection */
+    <T> CompletableFuture<T> read(@NotNull HandleCallback<T, ? extends Exception> work) {
+        return submit(readers, readLane, () -> {
+            try {
+                return jdbi.withHandle(work::withHandle);
+            } catch (Exception e) {
+                throw asUnchecked(e);
+            }
+        });
+    }
+
+    Stats stats() {
+        return new Stats(
+            writer.getQueue().size(),
+            readers.getQueue().size(),
+            writeLane.count.sum(),
+            readLane.count.sum(),
+            writeLane.avgMillis(),
+            writeLane.maxMillis(),
+            readLane.avgMillis(),
+            readLane.maxMillis()
+        );
+    }
+
+    private <T> CompletableFuture<T> submit(ExecutorService exec, Lane lane, Supplier<T> task) {
+        final long queuedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            long waited = System.nanoTime() - queuedAt;
+            lane.count.increment();
+            lane.waitNanos.add(waited);
+            lane.maxWaitNanos.accumulate(waited);
+            if (waited > TimeUnit.MILLISECONDS.toNanos(SLOW_WAIT_MS)) warnSaturated(lane, waited);
+            return task.get();
+        }, exec);
+    }
+
+    private void warnSaturated(Lane lane, long waitedNanos) {
+        long now = System.currentTimeMillis();
+        if (now - lastWarnAt < WARN_INTERVAL_MS) return;
+        lastWarnAt = now;
+        logger.warning("SQL " + lane.name + " queue saturated: task waited "
+                + TimeUnit.NANOSECONDS.toMillis(waitedNanos) + "ms (write queue "
+                + writer.getQueue().size() + ", read queue " + readers.getQueue().size() + ")");
+    }
+
+    private Handle writeHandle() {
+        if (writeHandle == null) writeHandle = jdbi.open();
+        return writeHandle;
+    }
+
+    private void discardWriteHandle() {
+        if (writeHandle == null) return;
+        try {
+            writeHandle.close();
+        } catch (Exception ignored) {}
+        writeHandle = null;
+    }
+
+    private static RuntimeException asUnchecked(Exception e) {
+        return e instanceof RuntimeException re ? re : new CompletionException(e);
+    }
+
+    static ThreadFactory named(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** Drains queued work, then releases the writer connection */
+    @Override
+    public void close() {
+        readers.shutdown();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+            readers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // writer thread is done; safe to touch its handle here
+        discardWriteHandle();
+        logStats();
+    }
+
+    /** Logs the totals so far; also called periodically while running */
+    void logStats() {
+        Stats s = stats();
+        logger.info(String.format(Locale.ROOT,
+            "SQL executors: %d writes (wait avg %.2fms / max %.2fms), %d reads (wait avg %.2fms / max %.2fms), "
+                + "queued %d writes / %d reads",
+            s.writes(), s.avgWriteWaitMillis(), s.maxWriteWaitMillis(),
+            s.reads(), s.avgReadWaitMillis(), s.maxReadWaitMillis(),
+            s.writeQueueDepth(), s.readQueueDepth()));
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.TallyDao;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.MaskCountRow;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Keeps {@code poll_tallies} in step with the wrapped selection layout
+ *
+ * <p>Every write reads the previous selections (one query for a whole batch) and applies the
+ * per-option delta in the caller's transaction, so tallies and selections always commit (or roll
+ * back) together</p>
+ *
+ * @author Cammy
+ */
+final class TalliedVoteTable implements VoteTable {
+
+    private final VoteTable delegate;
+    private final Class<? extends TallyDao> daoType;
+
+    TalliedVoteTable(@NotNull VoteTable delegate, @NotNull Class<? extends TallyDao> daoType) {
+        this.delegate = delegate;
+        this.daoType = daoType;
+    }
+
+    /**
+     * Creates the tally table, backfilling it from the selections when it is new
+     * <p>Runs at bootstrap, after any selection migration</p>
+     *
+     * @param compact whether selections live in the compact layout
+     */
+    static void initialise(
+        @NotNull Jdbi jdbi,
+        @NotNull Class<? extends TallyDao> daoType,
+        boolean compact,
+        @NotNull Logger logger
+    ) {
+        jdbi.useTransaction(h -> {
+            var dao = h.attach(daoType);
+            if (dao.tableCount() > 0) return;
+
+            dao.createTallies();
+            if (compact) {
+                backfillFromMasks(dao);
+            } else {
+                dao.rebuildFromSelections();
+            }
+            logger.info("Built poll tally table from stored selections");
+        });
+    }
+
+    private static void backfillFromMasks(TallyDao dao) {
+        Deltas deltas = new Deltas();
+        for (MaskCountRow r : dao.countMasks()) {
+            String pid = UuidBytes.fromBytes(r.pollId()).toString();
+            for (int m = r.mask(); m != 0; m &= m - 1) {
+                deltas.add(pid, Integer.numberOfTrailingZeros(m), r.voters());
+            }
+        }
+        deltas.apply(dao);
+    }
+
+    /** Tallies for one poll, option index -> votes */
+    @NotNull Map<Integer, Integer> tallies(@NotNull Handle h, @NotNull UUID pollId) {
+        Map<Integer, Integer> out = new HashMap<>();
+        for (var r : h.attach(daoType).findTallies(pollId.toString())) {
+            if (r.votes() > 0) out.put(r.optionIdx(), r.votes());
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    /* ---- Writes ---- */
+
+    @Override
+    public void replace(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        int before = delegate.mask(h, pollId, voterId);
+        if (before == mask) return;
+
+        delegate.replace(h, pollId, voterId, mask);
+
+        Deltas deltas = new Deltas();
+        deltas.transition(pollId.toString(), before, mask);
+        deltas.apply(h.attach(daoType));
+    }
+
+    /** Previous selections for the whole batch come from {@link VoteTable#masks}, not a query per write */
+    @Override
+    public void replaceAll(@NotNull Handle h, @NotNull List<Write> writes) {
+        if (writes.isEmpty()) return;
+        if (writes.size() == 1) {
+            Write w = writes.getFirst();
+            replace(h, w.pollId(), w.voterId(), w.mask());
+            return;
+        }
+
+        // updated as we go, so a voter written twice in one batch transitions from its own last write
+        Map<Voter, Integer> current = delegate.masks(h, writes);
+        Deltas deltas = new Deltas();
+        List<Write> changed = new ArrayList<>(writes.size());
+        for (Write w : writes) {
+            Integer prev = current.put(w.voter(), w.mask());
+            int before = prev != null ? prev : 0;
+            if (before == w.mask()) continue;
+            changed.add(w);
+            deltas.transition(w.pollId().toString(), before, w.mask());
+        }
+
+        if (changed.isEmpty()) return;
+        delegate.replaceAll(h, changed);
+        deltas.apply(h.attach(daoType));
+    }
+
+    @Override
+    public void deletePoll(@NotNull Handle h, @NotNull UUID pollId) {
+        // tally rows go with the poll row (ON DELETE CASCADE)
+        delegate.deletePoll(h, pollId);
+    }
+
+    /* ---- Reads ---- */
+
+    @Override
+    public int mask(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId) {
+        return delegate.mask(h, pollId, voterId);
+    }
+
+    @Override
+    public @NotNull Map<Voter, Integer> masks(@NotNull Handle h, @NotNull List<Write> writes) {
+        return delegate.masks(h, writes);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Set<Integer>> load(@NotNull Handle h, @NotNull UUID pollId) {
+        return delegate.load(h, pollId);
+    }
+
+    @Override
+    public void stream(@NotNull Handle h, @NotNull List<UUID> pollIds, @NotNull PollStorage.SelectionSink sink) {
+        delegate.stream(h, pollIds, sink);
+    }
+
+    /** Accumulated per-(poll, option) count changes, written as one batch */
+    private static final class Deltas {
+        private final Map<String, int[]> byPoll = new LinkedHashMap<>();
+
+        void transition(String pollId, int before, int after) {
+            for (int m = before & ~after; m != 0; m &= m - 1) add(pollId, Integer.numberOfTrailingZeros(m), -1);
+            for (int m = after & ~before; m != 0; m &= m - 1) add(pollId, Integer.numberOfTrailingZeros(m), 1);
+        }
+
+        void add(String pollId, int idx, int delta) {
+            byPoll.computeIfAbsent(pollId, k -> new int[SelectionMasks.MAX_INDEX + 1])[idx] += delta;
+        }
+
+        void apply(TallyDao dao) {
+            List<String> pids = new ArrayList<>();
+            List<Integer> idx = new ArrayList<>();
+            List<Integer> deltas = new ArrayList<>();
+            byPoll.forEach((pid, counts) -> {
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) continue;
+                    pids.add(pid);
+                    idx.add(i);
+                    deltas.add(counts[i]);
+                }
+            });
+            if (!pids.isEmpty()) dao.addDeltas(pids, idx, deltas);
+        }
+    }
+
+}
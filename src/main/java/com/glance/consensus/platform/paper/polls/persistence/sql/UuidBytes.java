@@ -0,0 +1,30 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * 16-byte big-endian UUID encoding used for BLOB keys
+ *
+ * @author Cammy
+ */
+final class UuidBytes {
+
+    private UuidBytes() {}
+
+    static byte[] toBytes(@NotNull UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    static @NotNull UUID fromBytes(byte[] raw) {
+        if (raw.length != 16) throw new IllegalArgumentException("Expected 16 bytes, got " + raw.length);
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import com.glance.consensus.platform.paper.polls.persistence.config.PollStorageConfig;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlDaos;
+import org.jdbi.v3.core.Handle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Storage layout for voter selections, selected by {@link PollStorageConfig.VoteSchema}
+ *
+ * <p>Selections are passed around as {@code SelectionMasks} bitmasks; 0 clears a voter.
+ * All methods run against the caller's handle; writers are expected to be inside a transaction</p>
+ *
+ * @author Cammy
+ */
+interface VoteTable {
+
+    /** Poll ids per IN list; well under SQLite's bound parameter limit */
+    int STREAM_CHUNK = 500;
+
+    /** A voter within a poll */
+    record Voter(@NotNull UUID pollId, @NotNull UUID voterId) {}
+
+    /** A single voter's full selection */
+    record Write(@NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        @NotNull Voter voter() {
+            return new Voter(pollId, voterId);
+        }
+    }
+
+    static VoteTable forSchema(@NotNull PollStorageConfig.VoteSchema schema, @NotNull SqlDaos daos) {
+        return switch (schema) {
+            case LEGACY -> new LegacyVoteTable(daos.votes());
+            case COMPACT -> new CompactVoteTable(daos.compactVotes());
+        };
+    }
+
+    /** Current selection of one voter, 0 if none */
+    int mask(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId);
+
+    /**
+     * Current selections of every voter a batch writes to, one query per {@link #STREAM_CHUNK} writes
+     *
+     * @return voter -> mask; voters without a selection are absent
+     */
+    @NotNull Map<Voter, Integer> masks(@NotNull Handle h, @NotNull List<Write> writes);
+
+    /** Replaces one voter's selection */
+    void replace(@NotNull Handle h, @NotNull UUID pollId, @NotNull UUID voterId, int mask);
+
+    /** Replaces many voters' selections (one entry per voter) */
+    void replaceAll(@NotNull Handle h, @NotNull List<Write> writes);
+
+    /** Removes every selection of a poll */
+    void deletePoll(@NotNull Handle h, @NotNull UUID pollId);
+
+    /** voterId -> chosen indices for one poll */
+    @NotNull Map<UUID, Set<Integer>> load(@NotNull Handle h, @NotNull UUID pollId);
+
+    /** Streams the selections of several polls, one sink call per voter */
+    void stream(@NotNull Handle h, @NotNull List<UUID> pollIds, @NotNull PollStorage.SelectionSink sink);
+
+}
@@ -0,0 +1,262 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for voter selections in the SQL backend
+ *
+ * <p>Pending selections are coalesced per (poll, voter), last write wins, and committed
+ * together in a single transaction every {@code flushMs} or as soon as {@code maxBatch}
+ * selections are pending. Every caller's future completes once the batch holding its
+ * (possibly superseded) write has committed, so completion still means durable</p>
+ *
+ * <p>Flushes are triggered from one dedicated thread and committed through the
+ * {@link SqlExecutors} writer, so batches commit in submission order</p>
+ *
+ * @author Cammy
+ */
+final class VoteWriteBehind implements AutoCloseable {
+
+    /** Flushes slower than this are logged */
+    private static final long SLOW_FLUSH_MS = 250L;
+
+    private record Key(@NotNull UUID pollId, @NotNull UUID voterId) {}
+
+    /** Latest selection for a key and everyone waiting on it */
+    private static final class Pending {
+        int mask;
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>(1);
+
+        Pending(int mask) {
+            this.mask = mask;
+        }
+    }
+
+    /**
+     * Point-in-time flush metrics
+     *
+     * @param flushes committed batches
+     * @param written selections committed
+     * @param coalesced writes superseded by a later write before reaching the database
+     * @param failed batches that failed to commit
+     * @param maxBatch largest batch committed
+     * @param avgBatch mean selections per committed batch
+     * @param avgFlushMillis mean commit latency
+     * @param maxFlushMillis slowest commit
+     */
+    record Stats(
+        long flushes,
+        long written,
+        long coalesced,
+        long failed,
+        long maxBatch,
+        double avgBatch,
+        double avgFlushMillis,
+        double maxFlushMillis
+    ) {}
+
+    private final SqlExecutors exec;
+    private final VoteTable votes;
+    private final Logger logger;
+    private final int maxBatch;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<Key, Pending> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private boolean closed; // guarded by lock
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile long maxBatchSeen;
+    private volatile long maxFlushNanos;
+
+    VoteWriteBehind(
+        @NotNull SqlExecutors exec,
+        @NotNull VoteTable votes,
+        @NotNull Logger logger,
+        long flushMs,
+        int maxBatch
+    ) {
+        this.exec = exec;
+        this.votes = votes;
+        this.logger = logger;
+        this.maxBatch = maxBatch;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Consensus-VoteWriteBehind");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushSafely, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a voter's full selection, replacing any pending selection for the same voter
+     *
+     * @param mask selection bitmask (0 to clear)
+     * @return future completing when the selection (or a later one) has committed
+     */
+    CompletableFuture<Void> submit(@NotNull UUID pollId, @NotNull UUID voterId, int mask) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        int size;
+        synchronized (lock) {
+            if (closed) {
+                done.completeExceptionally(new IllegalStateException("Vote writer is shut down"));
+                return done;
+            }
+            Key key = new Key(pollId, voterId);
+            Pending p = pending.get(key);
+            if (p == null) {
+                p = new Pending(mask);
+                pending.put(key, p);
+            } else {
+                p.mask = mask;
+                coalesced.increment();
+            }
+            p.waiters.add(done);
+            size = pending.size();
+        }
+
+        if (size >= maxBatch && flushQueued.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushQueued.set(false);
+                    flushSafely();
+                });
+            } catch (RejectedExecutionException ignored) {
+                // closing; the final flush picks it up
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Drops pending writes for a deleted poll, completing their futures normally
+     * <p>Their rows would be removed by the delete anyway</p>
+     */
+    void discard(@NotNull UUID pollId) {
+        List<CompletableFuture<Void>> dropped = new ArrayList<>();
+        synchronized (lock) {
+            var it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                var e = it.next();
+                if (!e.getKey().pollId().equals(pollId)) continue;
+                dropped.addAll(e.getValue().waiters);
+                it.remove();
+            }
+        }
+        dropped.forEach(f -> f.complete(null));
+    }
+
+    /** Flushes everything pending now; completes once that flush has finished (or failed) */
+    CompletableFuture<Void> flushNow() {
+        try {
+            return CompletableFuture.runAsync(this::flushSafely, flusher);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    Stats stats() {
+        long n = flushes.sum();
+        long w = written.sum();
+        double totalMs = flushNanos.sum() / 1_000_000.0;
+        return new Stats(
+            n, w, coalesced.sum(), failed.sum(), maxBatchSeen,
+            n == 0 ? 0 : (double) w / n,
+            n == 0 ? 0 : totalMs / n,
+            maxFlushNanos / 1_000_000.0
+        );
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            logger.severe("Vote write-behind flush crashed: " + t.getMessage());
+        }
+    }
+
+    /** Commits everything pending in one transaction; runs on the flusher thread (or at close) */
+    private void flush() {
+        final LinkedHashMap<Key, Pending> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        final int size = batch.size();
+        final List<VoteTable.Write> writes = new ArrayList<>(size);
+        for (var e : batch.entrySet()) {
+            writes.add(new VoteTable.Write(e.getKey().pollId(), e.getKey().voterId(), e.getValue().mask));
+        }
+
+        long start = System.nanoTime();
+        try {
+            exec.write(handle -> {
+                handle.useTransaction(h -> votes.replaceAll(h, writes));
+                return null;
+            }).join();
+        } catch (Exception e) {
+            failed.increment();
+            logger.severe("Failed to flush " + size + " buffered vote selections: " + e.getMessage());
+            for (Pending p : batch.values()) p.waiters.forEach(f -> f.completeExceptionally(e));
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        flushes.increment();
+        written.add(size);
+        flushNanos.add(elapsed);
+        if (size > maxBatchSeen) maxBatchSeen = size;
+        if (elapsed > maxFlushNanos) maxFlushNanos = elapsed;
+        if (elapsed > TimeUnit.MILLISECONDS.toNanos(SLOW_FLUSH_MS)) {
+            logger.warning("Slow vote flush: " + size + " selections took "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+        }
+
+        for (Pending p : batch.values()) p.waiters.forEach(f -> f.complete(null));
+    }
+
+    /** Stops the timer and commits whatever is still pending */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logStats();
+    }
+
+    /** Logs the totals so far; also called periodically while running */
+    void logStats() {
+        Stats s = stats();
+        logger.info(String.format(Locale.ROOT,
+            "Vote write-behind: %d selections in %d batches (avg %.1f, max %d), %d coalesced, "
+                + "%d failed, flush avg %.2fms / max %.2fms",
+            s.written(), s.flushes(), s.avgBatch(), s.maxBatch(), s.coalesced(),
+            s.failed(), s.avgFlushMillis(), s.maxFlushMillis()));
+    }
+
+}
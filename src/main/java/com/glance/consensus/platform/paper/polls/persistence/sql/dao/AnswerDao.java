@@ -9,7 +9,7 @@ import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import java.util.List;
 
 @RegisterConstructorMapper(AnswerRow.class)
-public interface SqliteAnswerDao {
+public interface AnswerDao {
 
     @SqlBatch("""
         INSERT INTO poll_answers (poll_id, idx, label_raw, tooltip_raw)
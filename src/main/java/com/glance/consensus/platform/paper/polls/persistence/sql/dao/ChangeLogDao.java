@@ -0,0 +1,76 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.ChangeRow;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only log of poll changes, read by the other servers sharing the database
+ * <p>The table is declared by {@link SqliteChangeLogDao} / {@link MysqlChangeLogDao}</p>
+ */
+public interface ChangeLogDao {
+
+    /* ---- Schema ---- */
+
+    void createChangeLog();
+
+    /* ---- Writes ---- */
+
+    @SqlUpdate("""
+        INSERT INTO poll_changes (kind, poll_id, voter_id, mask, changed_at, origin)
+        VALUES (:kind, :pid, :vid, :mask, :at, :origin)
+    """)
+    void append(
+        @Bind("kind") String kind,
+        @Bind("pid") String pollId,
+        @Bind("vid") String voterIdOrNull,
+        @Bind("mask") int mask,
+        @Bind("at") long changedAt,
+        @Bind("origin") String origin
+    );
+
+    @SqlBatch("""
+        INSERT INTO poll_changes (kind, poll_id, voter_id, mask, changed_at, origin)
+        VALUES ('VOTE', :pid, :vid, :mask, :at, :origin)
+    """)
+    void appendVotes(
+        @Bind("pid") List<String> pollIds,
+        @Bind("vid") List<String> voterIds,
+        @Bind("mask") List<Integer> masks,
+        @Bind("at") long changedAt,
+        @Bind("origin") String origin
+    );
+
+    /** Keeps the newest entry so the sequence never restarts below what tailers have seen */
+    @SqlUpdate("DELETE FROM poll_changes WHERE changed_at < :cutoff AND seq < :keepFrom")
+    int prune(@Bind("cutoff") long cutoffMillis, @Bind("keepFrom") long keepFromSeq);
+
+    /* ---- Reads ---- */
+
+    @SqlQuery("SELECT COALESCE(MAX(seq), 0) FROM poll_changes")
+    long latestSeq();
+
+    @SqlQuery("""
+        SELECT seq, kind, poll_id, voter_id, mask, changed_at, origin
+        FROM poll_changes
+        WHERE seq > :after
+        ORDER BY seq
+        LIMIT :limit
+    """)
+    List<ChangeRow> findAfter(@Bind("after") long afterSeq, @Bind("limit") int limit);
+
+    @SqlQuery("""
+        SELECT seq, kind, poll_id, voter_id, mask, changed_at, origin
+        FROM poll_changes
+        WHERE seq IN (<seqs>)
+        ORDER BY seq
+    """)
+    List<ChangeRow> findSeqs(@BindList("seqs") Collection<Long> seqs);
+
+}
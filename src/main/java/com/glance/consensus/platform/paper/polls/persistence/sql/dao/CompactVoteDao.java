@@ -0,0 +1,81 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.MaskRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollMaskRow;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact selection layout: one row per (poll, voter), 16-byte UUID keys, selection bitmask
+ *
+ * <p>A cleared selection is stored as mask 0 so every write is a single UPSERT; readers skip those rows.
+ * Keys are binary and can't reference {@code polls.id}, so poll deletes clear this table explicitly</p>
+ *
+ * <p>Schema and upserts are declared by {@link SqliteCompactVoteDao} / {@link MysqlCompactVoteDao}</p>
+ */
+public interface CompactVoteDao {
+
+    /* ---- Schema ---- */
+
+    void createVoteMasks();
+
+    int tableCount();
+
+    /* ---- Writes ---- */
+
+    void upsert(byte[] pollId, byte[] voterId, int mask);
+
+    void upsertAll(List<byte[]> pollIds, List<byte[]> voterIds, List<Integer> masks);
+
+    /** Used by the migrator: rows already written in the compact layout are newer and win */
+    void insertMissing(List<byte[]> pollIds, List<byte[]> voterIds, List<Integer> masks);
+
+    @SqlUpdate("DELETE FROM vote_masks WHERE poll_id = :pid")
+    void deleteAllForPoll(@Bind("pid") byte[] pollId);
+
+    /* ---- Reads ---- */
+
+    @SqlQuery("SELECT 1 FROM vote_masks WHERE mask <> 0 LIMIT 1")
+    Optional<Integer> findAnySelection();
+
+    @SqlQuery("SELECT mask FROM vote_masks WHERE poll_id = :pid AND voter_id = :vid")
+    Optional<Integer> findMask(@Bind("pid") byte[] pollId, @Bind("vid") byte[] voterId);
+
+    /** Selections of the given voters in the given polls (every combination of the two lists) */
+    @SqlQuery("""
+        SELECT poll_id, voter_id, mask
+        FROM vote_masks
+        WHERE poll_id IN (<pids>) AND voter_id IN (<vids>)
+    """)
+    @RegisterConstructorMapper(PollMaskRow.class)
+    List<PollMaskRow> findMasksFor(@BindList("pids") List<byte[]> pollIds, @BindList("vids") List<byte[]> voterIds);
+
+    @SqlQuery("""
+        SELECT voter_id, mask
+        FROM vote_masks
+        WHERE poll_id = :pid AND mask <> 0
+    """)
+    List<MaskRow> findMasks(@Bind("pid") byte[] pollId);
+
+    /**
+     * Cursor over the selections of several polls
+     * <p>Must be consumed inside the handle that created it</p>
+     */
+    @SqlQuery("""
+        SELECT poll_id, voter_id, mask
+        FROM vote_masks
+        WHERE poll_id IN (<pids>) AND mask <> 0
+    """)
+    @RegisterConstructorMapper(PollMaskRow.class)
+    @FetchSize(1000)
+    ResultIterable<PollMaskRow> streamMasks(@BindList("pids") List<byte[]> pollIds);
+
+}
@@ -0,0 +1,27 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.ChangeRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+@RegisterConstructorMapper(ChangeRow.class)
+public interface MysqlChangeLogDao extends ChangeLogDao {
+
+    /* ---- Schema ---- */
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS poll_changes (
+            seq BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+            kind VARCHAR(8) NOT NULL,
+            poll_id VARCHAR(36) NOT NULL,
+            voter_id VARCHAR(36),
+            mask INT NOT NULL DEFAULT 0,
+            changed_at BIGINT NOT NULL,
+            origin VARCHAR(36) NOT NULL,
+            INDEX idx_changes_at (changed_at)
+        ) ENGINE=InnoDB
+    """)
+    @Override
+    void createChangeLog();
+
+}
@@ -0,0 +1,73 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.MaskRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+/**
+ * MySQL / MariaDB compact layout
+ * <p>The upsert has no placeholders past {@code VALUES}, so the driver can rewrite batches into multi-row inserts</p>
+ */
+@RegisterConstructorMapper(MaskRow.class)
+public interface MysqlCompactVoteDao extends CompactVoteDao {
+
+    /* ---- Schema ---- */
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS vote_masks (
+            poll_id BINARY(16) NOT NULL,
+            voter_id BINARY(16) NOT NULL,
+            mask INT NOT NULL,
+            PRIMARY KEY (poll_id, voter_id)
+        ) ENGINE=InnoDB
+    """)
+    @Override
+    void createVoteMasks();
+
+    /** {@code SCHEMA()} is the current database on MySQL and the current schema on H2 */
+    @SqlQuery("""
+        SELECT count(*) FROM information_schema.tables
+        WHERE table_schema = SCHEMA() AND LOWER(table_name) = 'vote_masks'
+    """)
+    @Override
+    int tableCount();
+
+    /* ---- Writes ---- */
+
+    @SqlUpdate("""
+        INSERT INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+        ON DUPLICATE KEY UPDATE mask = VALUES(mask)
+    """)
+    @Override
+    void upsert(@Bind("pid") byte[] pollId, @Bind("vid") byte[] voterId, @Bind("mask") int mask);
+
+    @SqlBatch("""
+        INSERT INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+        ON DUPLICATE KEY UPDATE mask = VALUES(mask)
+    """)
+    @Override
+    void upsertAll(
+        @Bind("pid") List<byte[]> pollIds,
+        @Bind("vid") List<byte[]> voterIds,
+        @Bind("mask") List<Integer> masks
+    );
+
+    @SqlBatch("""
+        INSERT IGNORE INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+    """)
+    @Override
+    void insertMissing(
+        @Bind("pid") List<byte[]> pollIds,
+        @Bind("vid") List<byte[]> voterIds,
+        @Bind("mask") List<Integer> masks
+    );
+
+}
@@ -0,0 +1,105 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/**
+ * MySQL / MariaDB poll schema and upserts
+ * <p>Indexes are declared inline, MySQL has no {@code CREATE INDEX IF NOT EXISTS}</p>
+ */
+@RegisterConstructorMapper(PollRow.class)
+public interface MysqlPollDao extends PollDao {
+
+    /* ---- Schema ---- */
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS polls (
+            id VARCHAR(36) NOT NULL PRIMARY KEY,
+            readable_id VARCHAR(255),
+            owner VARCHAR(36) NOT NULL,
+            question_raw TEXT NOT NULL,
+            created_at BIGINT NOT NULL,
+            closes_at BIGINT NOT NULL,
+            closed_at BIGINT,
+            closed TINYINT NOT NULL DEFAULT 0,
+            multiple_choice TINYINT NOT NULL,
+            max_selections INT NOT NULL,
+            allow_resubmissions TINYINT NOT NULL,
+            show_results TINYINT NOT NULL,
+            INDEX idx_polls_active (closed, closes_at),
+            INDEX idx_polls_closed_at (closed_at)
+        ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+    """)
+    @Override
+    void createPolls();
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS poll_answers (
+            poll_id VARCHAR(36) NOT NULL,
+            idx INT NOT NULL,
+            label_raw TEXT NOT NULL,
+            tooltip_raw TEXT,
+            PRIMARY KEY (poll_id, idx),
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
+        ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+    """)
+    @Override
+    void createAnswers();
+
+    /** The primary key already serves (poll) and (poll, voter) lookups */
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS voter_selection (
+            poll_id VARCHAR(36) NOT NULL,
+            voter_id VARCHAR(36) NOT NULL,
+            option_idx INT NOT NULL,
+            PRIMARY KEY (poll_id, voter_id, option_idx),
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
+        ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+    """)
+    @Override
+    void createVotes();
+
+    /* ---- Poll CRUD ---- */
+
+    @SqlUpdate("""
+        INSERT INTO polls(
+            id, readable_id, owner, question_raw,
+            created_at, closes_at, closed_at, closed,
+            multiple_choice, max_selections, allow_resubmissions, show_results
+        ) VALUES (
+            :id, :readableId, :owner, :questionRaw,
+            :createdAt, :closesAt, :closedAt, :closed,
+            :multipleChoice, :maxSelections, :allowResubmissions, :showResults
+        )
+        ON DUPLICATE KEY UPDATE
+            readable_id = VALUES(readable_id),
+            owner = VALUES(owner),
+            question_raw = VALUES(question_raw),
+            created_at = VALUES(created_at),
+            closes_at = VALUES(closes_at),
+            closed_at = VALUES(closed_at),
+            closed = VALUES(closed),
+            multiple_choice = VALUES(multiple_choice),
+            max_selections = VALUES(max_selections),
+            allow_resubmissions = VALUES(allow_resubmissions),
+            show_results = VALUES(show_results)
+    """)
+    @Override
+    void upsertPoll(
+        @Bind("id") String id,
+        @Bind("readableId") String readableId,
+        @Bind("owner") String owner,
+        @Bind("questionRaw") String questionRaw,
+        @Bind("createdAt") long createdAt,
+        @Bind("closesAt") long closesAt,
+        @Bind("closedAt") Long closedAt,
+        @Bind("closed") int closed,
+        @Bind("multipleChoice") int multipleChoice,
+        @Bind("maxSelections") int maxSelections,
+        @Bind("allowResubmissions") int allowResubmissions,
+        @Bind("showResults") int showResults
+    );
+
+}
@@ -0,0 +1,51 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+public interface MysqlTallyDao extends TallyDao {
+
+    /* ---- Schema ---- */
+
+    @SqlQuery("""
+        SELECT count(*) FROM information_schema.tables
+        WHERE table_schema = SCHEMA() AND LOWER(table_name) = 'poll_tallies'
+    """)
+    @Override
+    int tableCount();
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS poll_tallies (
+            poll_id VARCHAR(36) NOT NULL,
+            option_idx INT NOT NULL,
+            votes INT NOT NULL,
+            PRIMARY KEY (poll_id, option_idx),
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
+        ) ENGINE=InnoDB
+    """)
+    @Override
+    void createTallies();
+
+    /* ---- Maintenance ---- */
+
+    /**
+     * The delta is read back through {@code VALUES(votes)}: no placeholders past {@code VALUES}, so
+     * batches rewrite into multi-row inserts. A missing row only ever gets a positive delta
+     */
+    @SqlBatch("""
+        INSERT INTO poll_tallies (poll_id, option_idx, votes)
+        VALUES (:pid, :idx, :delta)
+        ON DUPLICATE KEY UPDATE votes = GREATEST(0, votes + VALUES(votes))
+    """)
+    @Override
+    void addDeltas(
+        @Bind("pid") List<String> pollIds,
+        @Bind("idx") List<Integer> optionIdx,
+        @Bind("delta") List<Integer> deltas
+    );
+
+}
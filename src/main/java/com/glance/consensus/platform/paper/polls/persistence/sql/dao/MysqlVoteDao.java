@@ -0,0 +1,49 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.SelectionRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+@RegisterConstructorMapper(SelectionRow.class)
+public interface MysqlVoteDao extends VoteDao {
+
+    @SqlBatch("""
+        INSERT IGNORE INTO voter_selection (poll_id, voter_id, option_idx)
+        VALUES (:pid, :vid, :idx)
+    """)
+    @Override
+    void insertSelections(
+        @Bind("pid") String pollId,
+        @Bind("vid") String voterId,
+        @Bind("idx") List<Integer> selections
+    );
+
+    @SqlBatch("""
+        INSERT IGNORE INTO voter_selection (poll_id, voter_id, option_idx)
+        VALUES (:pid, :vid, :idx)
+    """)
+    @Override
+    void insertSelectionRows(
+        @Bind("pid") List<String> pollIds,
+        @Bind("vid") List<String> voterIds,
+        @Bind("idx") List<Integer> selections
+    );
+
+    /** {@code SCHEMA()} is the current database on MySQL and the current schema on H2 */
+    @SqlQuery("""
+        SELECT count(*) FROM information_schema.tables
+        WHERE table_schema = SCHEMA() AND LOWER(table_name) = 'voter_selection'
+    """)
+    @Override
+    int tableCount();
+
+    @SqlUpdate("ALTER TABLE voter_selection RENAME TO voter_selection_legacy")
+    @Override
+    void renameToLegacyBackup();
+
+}
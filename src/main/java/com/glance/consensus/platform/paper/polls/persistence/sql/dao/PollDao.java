@@ -0,0 +1,153 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.AnswerRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollWithAnswers;
+import org.jdbi.v3.core.result.LinkedHashMapRowReducer;
+import org.jdbi.v3.core.result.RowView;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowReducer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Poll statements shared by every dialect
+ *
+ * <p>Schema and upserts are dialect specific and declared by {@link SqlitePollDao} / {@link MysqlPollDao};
+ * attach one of those, never this interface</p>
+ */
+public interface PollDao {
+
+    /* ---- Schema ---- */
+
+    void createPolls();
+
+    void createAnswers();
+
+    void createVotes();
+
+    /** Creates the poll tables, plus the legacy selection table when {@code legacyVotes} */
+    default void createSchema(boolean legacyVotes) {
+        createPolls();
+        createAnswers();
+        if (legacyVotes) createVotes();
+    }
+
+    /* ---- Poll CRUD ---- */
+
+    void upsertPoll(
+        String id,
+        String readableId,
+        String owner,
+        String questionRaw,
+        long createdAt,
+        long closesAt,
+        Long closedAt,
+        int closed,
+        int multipleChoice,
+        int maxSelections,
+        int allowResubmissions,
+        int showResults
+    );
+
+    @SqlUpdate("DELETE FROM poll_answers WHERE poll_id = :id")
+    void deleteAnswers(@Bind("id") String pollId);
+
+    @SqlUpdate("DELETE FROM polls WHERE id = :id")
+    void deletePoll(@Bind("id") String pollId);
+
+    @SqlUpdate("""
+        UPDATE polls
+        SET closed = 1, closed_at = :closedAt
+        WHERE id = :id
+    """)
+    void closePoll(
+        @Bind("id") String pollId,
+        @Bind("closedAt") long closedAt
+    );
+
+    @SqlBatch("""
+        UPDATE polls
+        SET closed = 1, closed_at = :closedAt
+        WHERE id = :id
+    """)
+    void closePolls(
+        @Bind("id") List<String> pollIds,
+        @Bind("closedAt") List<Long> closedAt
+    );
+
+    //@RegisterBeanMapper(PollRow.class)
+    @SqlQuery("SELECT * FROM polls WHERE id = :id")
+    Optional<PollRow> findPoll(@Bind("id") String pollId);
+
+    //@RegisterBeanMapper(PollRow.class)
+    @SqlQuery("""
+        SELECT * FROM polls
+        WHERE closed = 0 AND (closes_at IS NULL or closes_at > :now)
+    """)
+    List<PollRow> findActive(@Bind("now") long nowMillis);
+
+    @SqlUpdate("""
+        UPDATE polls
+        SET closed = 1, closed_at = COALESCE(closed_at, closes_at)
+        WHERE closed = 0 AND closes_at IS NOT NULL AND closes_at <= :now
+    """)
+    int closeOverdue(@Bind("now") long nowMillis);
+
+    //@RegisterBeanMapper(PollRow.class)
+    @SqlQuery("""
+        SELECT * FROM polls
+        WHERE (closed = 0 AND (closes_at IS NULL OR closes_at > :now))
+            OR (closed = 1 AND closed_at IS NOT NULL AND closed_at >= :cutoff)
+    """)
+    List<PollRow> findRecent(@Bind("now") long nowMillis, @Bind("cutoff") long cutoffMillis);
+
+    /* ---- Bulk loads (poll + answers in one round trip) ---- */
+
+    @SqlQuery("""
+        SELECT p.*,
+               a.poll_id AS a_poll_id, a.idx AS a_idx, a.label_raw AS a_label_raw, a.tooltip_raw AS a_tooltip_raw
+        FROM polls p
+        LEFT JOIN poll_answers a ON a.poll_id = p.id
+        WHERE p.closed = 0 AND (p.closes_at IS NULL OR p.closes_at > :now)
+        ORDER BY p.id, a.idx
+    """)
+    @RegisterConstructorMapper(value = AnswerRow.class, prefix = "a_")
+    @UseRowReducer(PollAnswersReducer.class)
+    List<PollWithAnswers> findActiveWithAnswers(@Bind("now") long nowMillis);
+
+    @SqlQuery("""
+        SELECT p.*,
+               a.poll_id AS a_poll_id, a.idx AS a_idx, a.label_raw AS a_label_raw, a.tooltip_raw AS a_tooltip_raw
+        FROM polls p
+        LEFT JOIN poll_answers a ON a.poll_id = p.id
+        WHERE (p.closed = 0 AND (p.closes_at IS NULL OR p.closes_at > :now))
+            OR (p.closed = 1 AND p.closed_at IS NOT NULL AND p.closed_at >= :cutoff)
+        ORDER BY p.id, a.idx
+    """)
+    @RegisterConstructorMapper(value = AnswerRow.class, prefix = "a_")
+    @UseRowReducer(PollAnswersReducer.class)
+    List<PollWithAnswers> findRecentWithAnswers(@Bind("now") long nowMillis, @Bind("cutoff") long cutoffMillis);
+
+    /** Folds the joined rows into one {@link PollWithAnswers} per poll in a single pass */
+    class PollAnswersReducer implements LinkedHashMapRowReducer<String, PollWithAnswers> {
+        @Override
+        public void accumulate(Map<String, PollWithAnswers> acc, RowView row) {
+            PollWithAnswers pa = acc.computeIfAbsent(row.getColumn("id", String.class),
+                    id -> new PollWithAnswers(row.getRow(PollRow.class), new ArrayList<>()));
+
+            // polls without answers come back with a single all-null answer side
+            if (row.getColumn("a_idx", Integer.class) != null) {
+                pa.answers().add(row.getRow(AnswerRow.class));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+/**
+ * The DAO interfaces to attach for one SQL dialect
+ *
+ * <p>Callers attach through these instead of naming a dialect's DAO directly, e.g.
+ * {@code h.attach(daos.polls())}</p>
+ */
+public record SqlDaos(
+    Class<? extends PollDao> polls,
+    Class<? extends AnswerDao> answers,
+    Class<? extends VoteDao> votes,
+    Class<? extends CompactVoteDao> compactVotes,
+    Class<? extends TallyDao> tallies,
+    Class<? extends ChangeLogDao> changes
+) {
+
+    public static final SqlDaos SQLITE = new SqlDaos(
+        SqlitePollDao.class, AnswerDao.class, SqliteVoteDao.class,
+        SqliteCompactVoteDao.class, SqliteTallyDao.class, SqliteChangeLogDao.class);
+
+    /** MySQL, MariaDB and H2 in MySQL mode */
+    public static final SqlDaos MYSQL = new SqlDaos(
+        MysqlPollDao.class, AnswerDao.class, MysqlVoteDao.class,
+        MysqlCompactVoteDao.class, MysqlTallyDao.class, MysqlChangeLogDao.class);
+
+}
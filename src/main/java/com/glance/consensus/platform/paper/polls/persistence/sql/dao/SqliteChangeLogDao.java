@@ -0,0 +1,35 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.ChangeRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+@RegisterConstructorMapper(ChangeRow.class)
+public interface SqliteChangeLogDao extends ChangeLogDao {
+
+    /* ---- Schema ---- */
+
+    /** AUTOINCREMENT: sequence numbers are never reused, even after pruning */
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS poll_changes (
+            seq INTEGER PRIMARY KEY AUTOINCREMENT,
+            kind TEXT NOT NULL,
+            poll_id TEXT NOT NULL,
+            voter_id TEXT,
+            mask INTEGER NOT NULL DEFAULT 0,
+            changed_at INTEGER NOT NULL,
+            origin TEXT NOT NULL
+        )
+    """)
+    void createTable();
+
+    @SqlUpdate("CREATE INDEX IF NOT EXISTS idx_changes_at ON poll_changes(changed_at)")
+    void idxChangedAt();
+
+    @Override
+    default void createChangeLog() {
+        createTable();
+        idxChangedAt();
+    }
+
+}
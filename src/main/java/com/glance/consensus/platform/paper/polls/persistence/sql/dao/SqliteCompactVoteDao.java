@@ -0,0 +1,66 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.MaskRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+@RegisterConstructorMapper(MaskRow.class)
+public interface SqliteCompactVoteDao extends CompactVoteDao {
+
+    /* ---- Schema ---- */
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS vote_masks (
+            poll_id BLOB NOT NULL,
+            voter_id BLOB NOT NULL,
+            mask INTEGER NOT NULL,
+            PRIMARY KEY (poll_id, voter_id)
+        ) WITHOUT ROWID
+    """)
+    @Override
+    void createVoteMasks();
+
+    @SqlQuery("SELECT count(*) FROM sqlite_master WHERE type = 'table' AND name = 'vote_masks'")
+    @Override
+    int tableCount();
+
+    /* ---- Writes ---- */
+
+    @SqlUpdate("""
+        INSERT INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+        ON CONFLICT(poll_id, voter_id) DO UPDATE SET mask = excluded.mask
+    """)
+    @Override
+    void upsert(@Bind("pid") byte[] pollId, @Bind("vid") byte[] voterId, @Bind("mask") int mask);
+
+    @SqlBatch("""
+        INSERT INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+        ON CONFLICT(poll_id, voter_id) DO UPDATE SET mask = excluded.mask
+    """)
+    @Override
+    void upsertAll(
+        @Bind("pid") List<byte[]> pollIds,
+        @Bind("vid") List<byte[]> voterIds,
+        @Bind("mask") List<Integer> masks
+    );
+
+    @SqlBatch("""
+        INSERT INTO vote_masks (poll_id, voter_id, mask)
+        VALUES (:pid, :vid, :mask)
+        ON CONFLICT(poll_id, voter_id) DO NOTHING
+    """)
+    @Override
+    void insertMissing(
+        @Bind("pid") List<byte[]> pollIds,
+        @Bind("vid") List<byte[]> voterIds,
+        @Bind("mask") List<Integer> masks
+    );
+
+}
@@ -3,22 +3,13 @@ package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
 import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollRow;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
-import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
-import java.util.List;
-import java.util.Optional;
-
 @RegisterConstructorMapper(PollRow.class)
-public interface SqlitePollDao {
+public interface SqlitePollDao extends PollDao {
 
     /* ---- Schema ---- */
 
-    @SqlUpdate("""
-            PRAGMA foreign_keys = ON;
-            """)
-    void pragmaFK();
-
     @SqlUpdate("""
         CREATE TABLE IF NOT EXISTS polls (
             id TEXT PRIMARY KEY,
@@ -35,6 +26,7 @@ public interface SqlitePollDao {
             show_results INTEGER NOT NULL
         );
     """)
+    @Override
     void createPolls();
 
     @SqlUpdate("""
@@ -47,6 +39,7 @@ public interface SqlitePollDao {
             FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
         );
     """)
+    @Override
     void createAnswers();
 
     @SqlUpdate("""
@@ -58,6 +51,7 @@ public interface SqlitePollDao {
             FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
         );
     """)
+    @Override
     void createVotes();
 
     @SqlUpdate("CREATE INDEX IF NOT EXISTS idx_polls_active ON polls(closed, closes_at)")
@@ -72,6 +66,20 @@ public interface SqlitePollDao {
     @SqlUpdate("CREATE INDEX IF NOT EXISTS idx_votes_poll_voter ON voter_selection(poll_id, voter_id)")
     void idxVotesPollVoter();
 
+    @Override
+    default void createSchema(boolean legacyVotes) {
+        createPolls();
+        createAnswers();
+        idxPollsActive();
+        idxPollsClosedAt();
+
+        if (legacyVotes) {
+            createVotes();
+            idxVotesPoll();
+            idxVotesPollVoter();
+        }
+    }
+
     /* ---- Poll CRUD ---- */
 
     @SqlUpdate("""
@@ -97,6 +105,7 @@ public interface SqlitePollDao {
             allow_resubmissions = excluded.allow_resubmissions,
             show_results = excluded.show_results
     """)
+    @Override
     void upsertPoll(
         @Bind("id") String id,
         @Bind("readableId") String readableId,
@@ -112,46 +121,4 @@ public interface SqlitePollDao {
         @Bind("showResults") int showResults
     );
 
-    @SqlUpdate("DELETE FROM poll_answers WHERE poll_id = :id")
-    void deleteAnswers(@Bind("id") String pollId);
-
-    @SqlUpdate("DELETE FROM polls WHERE id = :id")
-    void deletePoll(@Bind("id") String pollId);
-
-    @SqlUpdate("""
-        UPDATE polls
-        SET closed = 1, closed_at = :closedAt
-        WHERE id = :id
-    """)
-    void closePoll(
-        @Bind("id") String pollId,
-        @Bind("closedAt") long closedAt
-    );
-
-    //@RegisterBeanMapper(PollRow.class)
-    @SqlQuery("SELECT * FROM polls WHERE id = :id")
-    Optional<PollRow> findPoll(@Bind("id") String pollId);
-
-    //@RegisterBeanMapper(PollRow.class)
-    @SqlQuery("""
-        SELECT * FROM polls
-        WHERE closed = 0 AND (closes_at IS NULL or closes_at > :now)
-    """)
-    List<PollRow> findActive(@Bind("now") long nowMillis);
-
-    @SqlUpdate("""
-        UPDATE polls
-        SET closed = 1, closed_at = COALESCE(closed_at, closes_at)
-        WHERE closed = 0 AND closes_at IS NOT NULL AND closes_at <= :now
-    """)
-    int closeOverdue(@Bind("now") long nowMillis);
-
-    //@RegisterBeanMapper(PollRow.class)
-    @SqlQuery("""
-        SELECT * FROM polls
-        WHERE (closed = 0 AND (closes_at IS NULL OR closes_at > :now))
-            OR (closed = 1 AND closed_at IS NOT NULL AND closed_at >= :cutoff)
-    """)
-    List<PollRow> findRecent(@Bind("now") long nowMillis, @Bind("cutoff") long cutoffMillis);
-
 }
@@ -0,0 +1,44 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+public interface SqliteTallyDao extends TallyDao {
+
+    /* ---- Schema ---- */
+
+    @SqlQuery("SELECT count(*) FROM sqlite_master WHERE type = 'table' AND name = 'poll_tallies'")
+    @Override
+    int tableCount();
+
+    @SqlUpdate("""
+        CREATE TABLE IF NOT EXISTS poll_tallies (
+            poll_id TEXT NOT NULL,
+            option_idx INTEGER NOT NULL,
+            votes INTEGER NOT NULL,
+            PRIMARY KEY (poll_id, option_idx),
+            FOREIGN KEY (poll_id) REFERENCES polls(id) ON DELETE CASCADE
+        ) WITHOUT ROWID
+    """)
+    @Override
+    void createTallies();
+
+    /* ---- Maintenance ---- */
+
+    @SqlBatch("""
+        INSERT INTO poll_tallies (poll_id, option_idx, votes)
+        VALUES (:pid, :idx, MAX(0, :delta))
+        ON CONFLICT(poll_id, option_idx) DO UPDATE SET votes = MAX(0, votes + :delta)
+    """)
+    @Override
+    void addDeltas(
+        @Bind("pid") List<String> pollIds,
+        @Bind("idx") List<Integer> optionIdx,
+        @Bind("delta") List<Integer> deltas
+    );
+
+}
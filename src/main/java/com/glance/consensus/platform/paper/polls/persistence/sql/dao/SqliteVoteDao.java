@@ -10,36 +10,49 @@ import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import java.util.List;
 
 @RegisterConstructorMapper(SelectionRow.class)
-public interface SqliteVoteDao {
-
-    @SqlUpdate("""
-        DELETE FROM voter_selection
-        WHERE poll_id = :pid AND voter_id = :vid
-    """)
-    void deleteVoter(@Bind("pid") String pollId, @Bind("vid") String voterId);
+public interface SqliteVoteDao extends VoteDao {
 
     @SqlBatch("""
         INSERT OR IGNORE INTO voter_selection (poll_id, voter_id, option_idx)
         VALUES (:pid, :vid, :idx)
     """)
+    @Override
     void insertSelections(
         @Bind("pid") String pollId,
         @Bind("vid") String voterId,
         @Bind("idx") List<Integer> selections
     );
 
-    //@RegisterBeanMapper(SelectionRow.class)
-    @SqlQuery("""
-        SELECT voter_id, option_idx
-        FROM voter_selection
-        WHERE poll_id = :pid
-        ORDER BY voter_id, option_idx
+    @SqlBatch("""
+        INSERT OR IGNORE INTO voter_selection (poll_id, voter_id, option_idx)
+        VALUES (:pid, :vid, :idx)
     """)
-    List<SelectionRow> findSelections(@Bind("pid") String pollId);
+    @Override
+    void insertSelectionRows(
+        @Bind("pid") List<String> pollIds,
+        @Bind("vid") List<String> voterIds,
+        @Bind("idx") List<Integer> selections
+    );
 
-    @SqlUpdate("""
-        DELETE FROM voter_selection WHERE poll_id = :pid
-    """)
-    void deleteAllForPoll(@Bind("pid") String pollId);
+    @SqlQuery("SELECT count(*) FROM sqlite_master WHERE type = 'table' AND name = 'voter_selection'")
+    @Override
+    int tableCount();
+
+    @SqlUpdate("DROP INDEX IF EXISTS idx_votes_poll")
+    void dropIdxVotesPoll();
+
+    @SqlUpdate("DROP INDEX IF EXISTS idx_votes_poll_voter")
+    void dropIdxVotesPollVoter();
+
+    @SqlUpdate("ALTER TABLE voter_selection RENAME TO voter_selection_legacy")
+    void renameVotes();
+
+    /** Index names are schema-wide in SQLite; free them for a later LEGACY table */
+    @Override
+    default void renameToLegacyBackup() {
+        dropIdxVotesPoll();
+        dropIdxVotesPollVoter();
+        renameVotes();
+    }
 
 }
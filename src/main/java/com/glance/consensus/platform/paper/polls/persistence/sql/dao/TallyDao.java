@@ -0,0 +1,61 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.MaskCountRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.TallyRow;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+/**
+ * Per-option vote counts, kept in step with the selection table by every vote write
+ * <p>Schema and the delta upsert are declared by {@link SqliteTallyDao} / {@link MysqlTallyDao}</p>
+ */
+public interface TallyDao {
+
+    /* ---- Schema ---- */
+
+    int tableCount();
+
+    void createTallies();
+
+    /* ---- Maintenance ---- */
+
+    /** Adds signed deltas per (poll, option), never letting a count drop below zero */
+    void addDeltas(List<String> pollIds, List<Integer> optionIdx, List<Integer> deltas);
+
+    @SqlUpdate("DELETE FROM poll_tallies")
+    void clear();
+
+    /** Backfill from the legacy layout */
+    @SqlUpdate("""
+        INSERT INTO poll_tallies (poll_id, option_idx, votes)
+        SELECT poll_id, option_idx, COUNT(*)
+        FROM voter_selection
+        GROUP BY poll_id, option_idx
+    """)
+    void rebuildFromSelections();
+
+    /** Voters per distinct mask, for backfilling from the compact layout */
+    @SqlQuery("""
+        SELECT poll_id, mask, COUNT(*) AS voters
+        FROM vote_masks
+        WHERE mask <> 0
+        GROUP BY poll_id, mask
+    """)
+    @RegisterConstructorMapper(MaskCountRow.class)
+    List<MaskCountRow> countMasks();
+
+    /* ---- Reads ---- */
+
+    @SqlQuery("""
+        SELECT option_idx, votes
+        FROM poll_tallies
+        WHERE poll_id = :pid
+    """)
+    @RegisterConstructorMapper(TallyRow.class)
+    List<TallyRow> findTallies(@Bind("pid") String pollId);
+
+}
@@ -0,0 +1,103 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.dao;
+
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.PollSelectionRow;
+import com.glance.consensus.platform.paper.polls.persistence.sql.data.SelectionRow;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.List;
+
+/**
+ * Legacy selection statements shared by every dialect
+ * <p>Inserts and the table probe are declared by {@link SqliteVoteDao} / {@link MysqlVoteDao}</p>
+ */
+public interface VoteDao {
+
+    void insertSelections(String pollId, String voterId, List<Integer> selections);
+
+    void insertSelectionRows(List<String> pollIds, List<String> voterIds, List<Integer> selections);
+
+    @SqlUpdate("""
+        DELETE FROM voter_selection
+        WHERE poll_id = :pid AND voter_id = :vid
+    """)
+    void deleteVoter(@Bind("pid") String pollId, @Bind("vid") String voterId);
+
+    @SqlBatch("""
+        DELETE FROM voter_selection
+        WHERE poll_id = :pid AND voter_id = :vid
+    """)
+    void deleteVoters(@Bind("pid") List<String> pollIds, @Bind("vid") List<String> voterIds);
+
+    @SqlQuery("""
+        SELECT option_idx
+        FROM voter_selection
+        WHERE poll_id = :pid AND voter_id = :vid
+    """)
+    List<Integer> findVoterIndices(@Bind("pid") String pollId, @Bind("vid") String voterId);
+
+    /** Selections of the given voters in the given polls (every combination), grouped by poll then voter */
+    @SqlQuery("""
+        SELECT poll_id, voter_id, option_idx
+        FROM voter_selection
+        WHERE poll_id IN (<pids>) AND voter_id IN (<vids>)
+        ORDER BY poll_id, voter_id
+    """)
+    @RegisterConstructorMapper(PollSelectionRow.class)
+    List<PollSelectionRow> findSelectionsFor(@BindList("pids") List<String> pollIds, @BindList("vids") List<String> voterIds);
+
+    //@RegisterBeanMapper(SelectionRow.class)
+    @SqlQuery("""
+        SELECT voter_id, option_idx
+        FROM voter_selection
+        WHERE poll_id = :pid
+        ORDER BY voter_id, option_idx
+    """)
+    List<SelectionRow> findSelections(@Bind("pid") String pollId);
+
+    /**
+     * Cursor over the selections of several polls, grouped by poll then voter
+     * <p>Must be consumed inside the handle that created it</p>
+     */
+    @SqlQuery("""
+        SELECT poll_id, voter_id, option_idx
+        FROM voter_selection
+        WHERE poll_id IN (<pids>)
+        ORDER BY poll_id, voter_id
+    """)
+    @RegisterConstructorMapper(PollSelectionRow.class)
+    @FetchSize(1000)
+    ResultIterable<PollSelectionRow> streamSelections(@BindList("pids") List<String> pollIds);
+
+    @SqlUpdate("""
+        DELETE FROM voter_selection WHERE poll_id = :pid
+    """)
+    void deleteAllForPoll(@Bind("pid") String pollId);
+
+    /* ---- Migration to the compact layout ---- */
+
+    int tableCount();
+
+    /** Next page of poll ids with selections, in id order after {@code after} */
+    @SqlQuery("""
+        SELECT DISTINCT poll_id FROM voter_selection
+        WHERE poll_id > :after
+        ORDER BY poll_id
+        LIMIT :limit
+    """)
+    List<String> findPollIdsAfter(@Bind("after") String after, @Bind("limit") int limit);
+
+    /** Drops the backup left by an earlier migration */
+    @SqlUpdate("DROP TABLE IF EXISTS voter_selection_legacy")
+    void dropLegacyBackup();
+
+    /** Keeps the migrated rows as {@code voter_selection_legacy} */
+    void renameToLegacyBackup();
+
+}
@@ -0,0 +1,13 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+
+public record ChangeRow(
+    @ColumnName("seq") long seq,
+    @ColumnName("kind") String kind,
+    @ColumnName("poll_id") String pollId,
+    @ColumnName("voter_id") String voterId,
+    @ColumnName("mask") int mask,
+    @ColumnName("changed_at") long changedAt,
+    @ColumnName("origin") String origin
+) {}
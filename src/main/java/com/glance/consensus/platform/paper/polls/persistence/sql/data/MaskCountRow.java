@@ -0,0 +1,9 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+
+public record MaskCountRow(
+    @ColumnName("poll_id") byte[] pollId,
+    @ColumnName("mask") int mask,
+    @ColumnName("voters") int voters
+) {}
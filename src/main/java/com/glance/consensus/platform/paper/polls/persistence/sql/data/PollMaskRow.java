@@ -0,0 +1,9 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+
+public record PollMaskRow(
+    @ColumnName("poll_id") byte[] pollId,
+    @ColumnName("voter_id") byte[] voterId,
+    @ColumnName("mask") int mask
+) {}
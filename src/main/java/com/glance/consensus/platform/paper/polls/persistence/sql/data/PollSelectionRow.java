@@ -0,0 +1,9 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+
+public record PollSelectionRow(
+    @ColumnName("poll_id") String pollId,
+    @ColumnName("voter_id") String voterId,
+    @ColumnName("option_idx") int optionIdx
+) {}
@@ -0,0 +1,9 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import java.util.List;
+
+/** A poll row together with its answers, assembled from one joined query */
+public record PollWithAnswers(
+    PollRow poll,
+    List<AnswerRow> answers
+) {}
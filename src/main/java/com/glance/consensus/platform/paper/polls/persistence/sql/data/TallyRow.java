@@ -0,0 +1,8 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql.data;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+
+public record TallyRow(
+    @ColumnName("option_idx") int optionIdx,
+    @ColumnName("votes") int votes
+) {}
@@ -5,8 +5,11 @@ import com.glance.consensus.platform.paper.polls.builder.PollBuildNavigator;
 import com.glance.consensus.platform.paper.polls.builder.PollBuildSession;
 import com.glance.consensus.platform.paper.polls.builder.PollBuilderSessions;
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollDefinition;
+import com.glance.consensus.platform.paper.polls.domain.PollListOption;
 import com.glance.consensus.platform.paper.polls.domain.PollOption;
 import com.glance.consensus.platform.paper.polls.domain.PollRules;
+import com.glance.consensus.platform.paper.polls.persistence.PollChangeFeed;
 import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
 import com.glance.consensus.platform.paper.utils.Mini;
 import com.glance.consensus.utils.StringUtils;
@@ -27,7 +30,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 @Slf4j
@@ -48,11 +53,17 @@ public final class DefaultPollManager implements PollManager {
     // Storage
     private final Provider<PollStorage> storageProvider;
 
-    // Poll Cache
-    private final Map<UUID, PollRuntime> polls = new ConcurrentHashMap<>();
+    // Poll Cache (by id, plus ordered/identifier indexes)
+    private final PollRegistry polls = new PollRegistry();
 
-    private static final long SWEEP_PERIOD_TICKS = 20L * 30; // 30s task
-    private BukkitTask sweepTask;
+    // Deadlines (scheduled closes, retention expiry); polls close at most one wheel tick late
+    private static final long WHEEL_TICK_MS = 250L;
+    private static final int WHEEL_SIZE = 4096; // ~17 minutes per revolution
+    private final PollTimingWheel deadlines = new PollTimingWheel(WHEEL_TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private BukkitTask deadlineTask;
+
+    // Multi-server sync (only when the storage shares a change log)
+    private BukkitTask syncTask;
 
     @Inject
     public DefaultPollManager(
@@ -94,7 +105,7 @@ public final class DefaultPollManager implements PollManager {
             var option = session.getAnswers().get(i);
             String label = option.labelRaw().trim();
             if (label.isBlank()) throw new IllegalArgumentException("Option " + (i+1) + " has no label");
-            normalized.add(new PollOption(i, label, StringUtils.emptyToNull(option.tooltipRaw()), 0));
+            normalized.add(new PollOption(i, label, StringUtils.emptyToNull(option.tooltipRaw())));
         }
 
         int minutes = Math.max(1, session.resolveDurationMins()); // min 1 minute
@@ -109,17 +120,17 @@ public final class DefaultPollManager implements PollManager {
         Instant now = Instant.now();
         Instant closeAt = now.plus(Duration.ofMinutes(minutes));
 
-        var poll = new Poll(
+        var definition = new PollDefinition(
             id,
             session.getSuppliedId() != null ? session.getSuppliedId() : id.toString(),
             creator.getUniqueId(),
             question,
             now,
             closeAt,
-            null,
             normalized,
             rules
         );
+        var poll = new Poll(definition, null);
         poll.setClosed(false);
 
         return poll;
@@ -130,7 +141,8 @@ public final class DefaultPollManager implements PollManager {
         return storageProvider.get().createPoll(poll)
             .thenApply(p -> {
                 var runtime = new PollRuntime(poll);
-                polls.put(poll.getId(), runtime);
+                polls.put(runtime);
+                track(runtime);
                 return poll.getId();
             })
             .exceptionally(ex -> {
@@ -147,12 +159,32 @@ public final class DefaultPollManager implements PollManager {
 
     @Override
     public Collection<PollRuntime> all() {
-        return polls.values();
+        return polls.all();
+    }
+
+    @Override
+    public SequencedCollection<PollRuntime> active() {
+        return polls.openByClosesAt();
     }
 
     @Override
-    public Collection<PollRuntime> active() {
-        return polls.values().stream().filter(p -> !p.getPoll().isClosed()).toList();
+    public SequencedCollection<PollRuntime> activeByCreation() {
+        return polls.openByCreatedAt();
+    }
+
+    @Override
+    public SequencedCollection<PollRuntime> closed() {
+        return polls.closedByClosedAt();
+    }
+
+    @Override
+    public List<PollRuntime> findByIdentifier(@NotNull String identifier) {
+        return polls.withIdentifier(identifier);
+    }
+
+    @Override
+    public List<String> identifiers(@NotNull PollListOption scope, @NotNull String prefix) {
+        return polls.identifiers(scope, prefix);
     }
 
     @Deprecated
@@ -180,28 +212,7 @@ public final class DefaultPollManager implements PollManager {
     private boolean safeClose(@NotNull Poll poll, Instant closeTime) {
         UUID pollId = poll.getId();
         storageProvider.get().closePoll(pollId, closeTime)
-            .thenRun(() -> {
-                Set<UUID> voters = findVoters(pollId);
-                if (voters.isEmpty()) return;
-
-                Component msg = Mini.parseMini(
-                    "<newline>" +
-                    "<gray>Poll:<newline><white>\"</white><b>" + poll.getQuestionRaw() +
-                    "</b><white>\"</white><newline>Has now <red><u>closed</u></red><newline>" +
-                    "<hover:show_text:'<green>Click to view results</green>'>" +
-                    "<click:run_command:'/poll results " + poll.getPollIdentifier() + "'>" +
-                    "<aqua>[View Results]</aqua>" +
-                    "</click></hover>" +
-                    "<newline>"
-                );
-
-                for (UUID voterId : voters) {
-                    Player p = Bukkit.getPlayer(voterId);
-                    if (p != null && p.isOnline()) {
-                        p.sendMessage(msg);
-                    }
-                }
-            })
+            .thenRun(() -> notifyClosed(poll))
             .exceptionally(ex -> {
                 plugin.getLogger().severe("Failed to persist poll close for: " +
                         poll.getPollIdentifier());
@@ -211,9 +222,42 @@ public final class DefaultPollManager implements PollManager {
         var runtime = polls.get(pollId);
         if (runtime == null) return false;
         runtime.close();
+        track(runtime);
         return true;
     }
 
+    /**
+     * Tells the poll's online voters that it has closed
+     * <p>Runs on a storage thread: voter ids are copied into a primitive buffer here, and players
+     * are looked up and messaged on the main thread</p>
+     */
+    private void notifyClosed(@NotNull Poll poll) {
+        PollRuntime runtime = polls.get(poll.getId());
+        if (runtime == null || runtime.voterCount() == 0) return;
+        final SelectionBatch voters = new SelectionBatch(runtime.voterCount());
+        runtime.forEachVoter(voters::add);
+
+        Component msg = Mini.parseMini(
+            "<newline>" +
+            "<gray>Poll:<newline><white>\"</white><b>" + poll.getQuestionRaw() +
+            "</b><white>\"</white><newline>Has now <red><u>closed</u></red><newline>" +
+            "<hover:show_text:'<green>Click to view results</green>'>" +
+            "<click:run_command:'/poll results " + poll.getPollIdentifier() + "'>" +
+            "<aqua>[View Results]</aqua>" +
+            "</click></hover>" +
+            "<newline>"
+        );
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            for (int i = 0; i < voters.size; i++) {
+                Player p = Bukkit.getPlayer(new UUID(voters.his[i], voters.los[i]));
+                if (p != null && p.isOnline()) {
+                    p.sendMessage(msg);
+                }
+            }
+        });
+    }
+
     @Override
     public void onEnable() {
         loadPolls();
@@ -223,93 +267,212 @@ public final class DefaultPollManager implements PollManager {
         PollStorage storage = storageProvider.get();
         if (storage == null) throw new IllegalStateException("A Storage system was not initialized");
 
-        storage.loadRecentPolls(CLOSED_RETENTION).thenAccept(list -> {
-            if (list == null) return;
+        // note the log position before loading, so nothing written meanwhile is missed;
+        // changes that are already part of the loaded state are applied again harmlessly
+        final Optional<PollChangeFeed> feed = storage.changeFeed();
+        final CompletableFuture<Long> startSeq = feed
+            .map(f -> f.latestSeq().exceptionally(ex -> {
+                logger.warning("Failed to read the poll change log position: " + ex.getMessage());
+                return null;
+            }))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
 
-            List<CompletableFuture<Void>> voteLoadFutures = new ArrayList<>(list.size());
+        startSeq.thenCompose(seq -> storage.loadRecentPolls(CLOSED_RETENTION).thenCompose(list -> {
+            if (list == null) return CompletableFuture.<Void>completedFuture(null);
 
+            // runtimes stay private until their selections are in; a published runtime with an
+            // empty selection store would accept clicks that the stored votes already rule out
+            Map<UUID, PollRuntime> loaded = new HashMap<>(list.size() * 2);
             for (Poll p : list) {
-                var future = storage.loadAllSelections(p.getId())
-                    .thenAccept(selections -> {
-                        PollRuntime rt = polls.computeIfAbsent(p.getId(), __ -> new PollRuntime(p));
-                        selections.forEach(rt::supplySelectionBootstrap);
-                    })
-                    .exceptionally(ex -> {
-                        plugin.getLogger().warning("Failed to reload/supply vote selections for poll " +
-                                p.getPollIdentifier());
-                        return null;
-                    });
-
-                voteLoadFutures.add(future);
+                if (polls.get(p.getId()) == null) loaded.put(p.getId(), new PollRuntime(p));
+            }
+
+            // closed polls are only displayed: their counts come from the stored tallies, and a
+            // viewer's own selection is read when they open it
+            Set<UUID> open = new HashSet<>(loaded.size() * 2);
+            List<CompletableFuture<Void>> closed = new ArrayList<>();
+            for (PollRuntime rt : loaded.values()) {
+                UUID id = rt.getPoll().getId();
+                if (rt.getPoll().isClosed()) {
+                    closed.add(storage.loadTallies(id).thenAccept(rt::bootstrapTallies));
+                } else {
+                    open.add(id);
+                }
             }
 
-            CompletableFuture.allOf(voteLoadFutures.toArray(CompletableFuture[]::new))
-                .whenComplete((d, ex) -> {
-                    if (ex != null) {
-                        plugin.getLogger().warning("One of more polls failed to load their votes: "
-                                + ex.getMessage());
-                    }
-
-                    if (sweepTask != null) {
-                        sweepTask.cancel();
-                    }
-
-                    sweepTask = plugin
-                            .getServer()
-                            .getScheduler()
-                            .runTaskTimerAsynchronously(plugin, this::sweepOnce, 20L * 2, SWEEP_PERIOD_TICKS);
+            // one streamed pass over every open poll's selections into primitive batches (the sink
+            // is called from a single reader thread), then each runtime is seeded in bulk
+            Map<UUID, SelectionBatch> batches = new HashMap<>(open.size() * 2);
+            return storage.streamSelections(open, (pollId, voterId, mask) -> {
+                    if (!open.contains(pollId)) return;
+                    batches.computeIfAbsent(pollId, __ -> new SelectionBatch()).add(voterId, mask);
                 })
+                .thenCompose(v -> bootstrapAll(loaded, batches))
+                .thenCompose(v -> CompletableFuture.allOf(closed.toArray(CompletableFuture[]::new)))
+                .thenRun(() -> publish(loaded.values()))
                 .exceptionally(ex -> {
-                    plugin.getLogger().severe("Failed to load recent polls: " + ex.getMessage());
-                    if (sweepTask != null) sweepTask.cancel();
-                    // still start a sweeper for anything still in memory
-                    sweepTask = plugin
-                            .getServer()
-                            .getScheduler()
-                            .runTaskTimerAsynchronously(plugin, this::sweepOnce, 20L * 2, SWEEP_PERIOD_TICKS);
-
+                    plugin.getLogger().severe("Failed to load poll votes, " + loaded.size()
+                            + " polls stay unloaded until restart: " + ex.getMessage());
                     return null;
                 });
         })
         .exceptionally(ex -> {
             logger.warning("Failed to load recent polls: " + ex.getMessage());
             return null;
+        })
+        .whenComplete((d, ex) -> {
+            // start the deadline clock regardless; it handles anything that made it into memory
+            long period = Math.max(1L, WHEEL_TICK_MS / 50L);
+            if (deadlineTask != null) deadlineTask.cancel();
+            deadlineTask = plugin
+                    .getServer()
+                    .getScheduler()
+                    .runTaskTimerAsynchronously(plugin, this::onDeadlines, period, period);
+
+            if (feed.isPresent() && seq != null) startSync(feed.get(), storage, seq);
+        }));
+    }
+
+    /**
+     * Seeds runtimes from their batches, one poll per task on a short-lived pool sized to the
+     * machine (never the common pool); completes once every poll is seeded
+     */
+    private CompletableFuture<Void> bootstrapAll(
+        @NotNull Map<UUID, PollRuntime> loaded,
+        @NotNull Map<UUID, SelectionBatch> batches
+    ) {
+        if (batches.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final long start = System.nanoTime();
+        final int threads = Math.min(batches.size(), Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        final AtomicInteger n = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Consensus-PollBootstrap-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        final AtomicInteger voters = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(batches.size());
+        for (var e : batches.entrySet()) {
+            PollRuntime rt = loaded.get(e.getKey());
+            tasks.add(CompletableFuture.runAsync(() -> voters.addAndGet(rt.bootstrap(e.getValue())), pool));
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).whenComplete((v, ex) -> {
+            pool.shutdown();
+            if (ex == null) {
+                logger.info("Loaded " + voters.get() + " voter selections across " + batches.size() + " polls in "
+                        + (System.nanoTime() - start) / 1_000_000L + "ms on " + threads + " threads");
+            }
         });
     }
 
-    private void sweepOnce() {
-        closeDuePolls();
-        reapOldPolls();
+    /** Makes fully loaded runtimes visible; a poll registered meanwhile keeps its live runtime */
+    private void publish(@NotNull Collection<PollRuntime> loaded) {
+        for (PollRuntime rt : loaded) {
+            if (polls.putIfAbsent(rt)) track(rt);
+        }
     }
 
-    private void closeDuePolls() {
-        final Instant now = Instant.now();
+    private void startSync(@NotNull PollChangeFeed feed, @NotNull PollStorage storage, long fromSeq) {
+        var tailer = new PollChangeTailer(feed, storage, polls, this::track, logger, fromSeq);
+        long period = Math.max(1L, feed.pollIntervalMs() / 50L);
 
-        List<Poll> due = polls.values().stream()
-                .map(PollRuntime::getPoll)
-                .filter(p -> !p.isClosed() && !now.isBefore(p.getClosesAt()))
-                .toList();
+        if (syncTask != null) syncTask.cancel();
+        syncTask = plugin
+                .getServer()
+                .getScheduler()
+                .runTaskTimerAsynchronously(plugin, tailer::tick, period, period);
+        logger.info("Tailing the shared poll change log from #" + fromSeq + " as node " + feed.nodeId());
+    }
 
-        due.forEach(p -> safeClose(p, p.getClosesAt()));
+    /* ---- Deadlines ---- */
+
+    /**
+     * Files a runtime under the indexes for its current state and schedules its next deadline:
+     * its close while open, its removal once closed
+     */
+    private void track(@NotNull PollRuntime runtime) {
+        polls.reindex(runtime);
+        Poll p = runtime.getPoll();
+        if (!p.isClosed()) {
+            deadlines.schedule(p.getId(), PollTimingWheel.Kind.CLOSE, p.getClosesAt().toEpochMilli());
+        } else {
+            deadlines.schedule(p.getId(), PollTimingWheel.Kind.REAP, reapAt(p));
+        }
     }
 
-    private void reapOldPolls() {
-        long cutoff = System.currentTimeMillis() - CLOSED_RETENTION.toMillis();
-        polls.values().removeIf(rt -> {
-            var p = rt.getPoll();
-            if (!p.isClosed()) return false;
+    private static long reapAt(@NotNull Poll p) {
+        long closedAt = p.getClosedAt() != null
+                ? p.getClosedAt().toEpochMilli()
+                : p.getClosesAt().toEpochMilli();
+        return closedAt + CLOSED_RETENTION.toMillis();
+    }
 
-            long closedAt = p.getClosedAt() != null
-                    ? p.getClosedAt().toEpochMilli()
-                    : p.getClosesAt().toEpochMilli();
-            return closedAt < cutoff;
-        });
+    private void onDeadlines() {
+        final long now = System.currentTimeMillis();
+        List<PollTimingWheel.Timeout> fired = deadlines.advance(now);
+        if (fired.isEmpty()) return;
+
+        // timeouts are never cancelled, so re-check each poll against its current state
+        List<PollRuntime> due = new ArrayList<>();
+        boolean reaped = false;
+        for (PollTimingWheel.Timeout t : fired) {
+            PollRuntime rt = polls.get(t.pollId());
+            if (rt == null) continue;
+            Poll p = rt.getPoll();
+
+            switch (t.kind()) {
+                case CLOSE -> {
+                    if (p.isClosed() || p.getClosesAt().toEpochMilli() != t.deadline()) continue;
+                    due.add(rt);
+                }
+                case REAP -> {
+                    if (p.isClosed() && reapAt(p) <= now) reaped |= polls.remove(t.pollId(), rt);
+                }
+            }
+        }
+
+        closeDuePolls(due);
+        if (reaped) {
+            storageProvider.get().archiveExpired(CLOSED_RETENTION)
+                .exceptionally(ex -> {
+                    logger.warning("Failed to archive expired polls: " + ex.getMessage());
+                    return null;
+                });
+        }
+    }
+
+    private void closeDuePolls(@NotNull List<PollRuntime> due) {
+        if (due.isEmpty()) return;
+
+        // one storage write for the whole batch; notifications still go out per poll
+        Map<UUID, Instant> closes = new LinkedHashMap<>(due.size() * 2);
+        List<Poll> closed = new ArrayList<>(due.size());
+        for (PollRuntime rt : due) {
+            Poll p = rt.getPoll();
+            closes.put(p.getId(), p.getClosesAt());
+            closed.add(p);
+            rt.close();
+            track(rt);
+        }
+
+        storageProvider.get().closePolls(closes)
+            .thenRun(() -> closed.forEach(this::notifyClosed))
+            .exceptionally(ex -> {
+                logger.severe("Failed to persist the close of " + closed.size() + " due polls: "
+                        + ex.getMessage());
+                return null;
+            });
     }
 
     @Override
     public void onDisable() {
-        // todo persistence update here?
+        if (deadlineTask != null) deadlineTask.cancel();
+        if (syncTask != null) syncTask.cancel();
         polls.clear();
+        storageProvider.get().shutdown();
     }
 
 }
@@ -5,17 +5,25 @@ import com.glance.consensus.platform.paper.polls.domain.PollRules;
 import com.glance.consensus.platform.paper.polls.domain.VoteResult;
 import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
 import com.glance.consensus.platform.paper.polls.utils.RuleUtils;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Validates clicks against the live runtime and persists them through a per-(poll, voter)
+ * mailbox, so a fast clicker's intent is merged into the next save instead of rejected
+ *
+ * @author Cammy
+ */
 @Slf4j
 @Singleton
 public class DefaultVoteManager implements VoteManager {
@@ -29,8 +37,33 @@ public class DefaultVoteManager implements VoteManager {
         this.storageProvider = storageProvider;
     }
 
-    /** in-flight guard: pollId -> set of playerIds currently persisting a selection */
-    private final Map<UUID, Set<UUID>> inFlight = new ConcurrentHashMap<>();
+    /** Per-(poll, voter) mailboxes; present only while that voter has clicks being saved */
+    private final Map<VoterKey, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private record VoterKey(@NotNull UUID pollId, @NotNull UUID voterId) {}
+
+    /** A validated click waiting for the save that carries it */
+    private record Click(@NotNull CompletableFuture<VoteResult> result, int before, int after, @NotNull PollRules rules) {}
+
+    /**
+     * Serial vote pipeline for one voter in one poll
+     *
+     * <p>At most one save is in flight. Clicks arriving meanwhile are validated against the
+     * optimistic selection, applied to the runtime and queued; when the save finishes, everything
+     * queued goes out as a single save of the latest selection. Results complete in click order</p>
+     */
+    private static final class Mailbox {
+        /** Last selection known to be durable; rollbacks return here */
+        int committed;
+        boolean saving;
+        /** Retired mailboxes have been removed from the map and must not take new clicks */
+        boolean retired;
+        List<Click> queued = new ArrayList<>(1);
+
+        Mailbox(int committed) {
+            this.committed = committed;
+        }
+    }
 
     @Override
     public @NotNull CompletableFuture<VoteResult> attemptVote(
@@ -41,159 +74,189 @@ public class DefaultVoteManager implements VoteManager {
         final Poll poll = runtime.getPoll();
         final UUID pollId = poll.getId();
         final UUID playerId = player.getUniqueId();
+        final PollRules effective = RuleUtils.effectiveRules(player, poll.getRules());
+        final VoterKey key = new VoterKey(pollId, playerId);
+
+        while (true) {
+            final Mailbox mb = mailboxes.computeIfAbsent(key, k -> new Mailbox(runtime.selectionMask(playerId)));
+            final CompletableFuture<VoteResult> result;
+            final boolean startSave;
+
+            synchronized (mb) {
+                if (mb.retired) continue;
+
+                // validate against the latest optimistic state, including clicks still being saved
+                final int before = runtime.selectionMask(playerId);
+                final VoteResult rejected = validate(poll, pollId, before, optionIndex, effective);
+                if (rejected != null) {
+                    retireIfIdle(key, mb);
+                    return CompletableFuture.completedFuture(rejected);
+                }
+
+                final int proposed = computeNewSelection(before, optionIndex, effective);
+                runtime.applySelection(playerId, proposed);
 
-        // Serialize attempts per (poll, player)
-        if (!acquireInFlight(pollId, playerId)) {
-            return CompletableFuture.completedFuture(new VoteResult(
-                    pollId,
-                    VoteResult.Status.NO_OP,
-                    runtime.selectionSnapshot(playerId),
-                    "<gray>Still saving your previous click...</gray>"
-            ));
+                result = new CompletableFuture<>();
+                mb.queued.add(new Click(result, before, proposed, effective));
+                startSave = !mb.saving;
+                if (startSave) mb.saving = true;
+            }
+
+            if (startSave) saveNext(key, mb, runtime);
+            return result;
         }
+    }
+
+    /** @return the rejection for this click, or null if it may go ahead */
+    private static @Nullable VoteResult validate(
+            @NotNull Poll poll,
+            @NotNull UUID pollId,
+            int before,
+            int optionIndex,
+            @NotNull PollRules effective
+    ) {
+        final Set<Integer> current = SelectionMasks.toSet(before);
 
         // Fast validations
         if (poll.isClosed()) {
-            releaseInFlight(pollId, playerId);
-            return CompletableFuture.completedFuture(new VoteResult(
-                    pollId,
-                    VoteResult.Status.REJECTED_CLOSED,
-                    runtime.selectionSnapshot(playerId),
-                    "<red>This poll is closed</red>"
-            ));
+            return new VoteResult(pollId, VoteResult.Status.REJECTED_CLOSED, current,
+                    "<red>This poll is closed</red>");
         }
 
         if (optionIndex < 0 || optionIndex >= poll.getOptions().size()) {
-            releaseInFlight(pollId, playerId);
-            return CompletableFuture.completedFuture(new VoteResult(
-                    pollId,
-                    VoteResult.Status.REJECTED_RULES,
-                    runtime.selectionSnapshot(playerId),
-                    "<red>Invalid option</red>"
-            ));
+            return new VoteResult(pollId, VoteResult.Status.REJECTED_RULES, current,
+                    "<red>Invalid option</red>");
         }
 
         // Compute proposed selection based on rules
-        final PollRules effective = RuleUtils.effectiveRules(player, poll.getRules());
-        final Set<Integer> before = runtime.selectionSnapshot(playerId);
-        final Set<Integer> proposed = computeNewSelectionSet(before, optionIndex, effective);
-
-        if (before.equals(proposed)) {
-            releaseInFlight(pollId, playerId);
-            return CompletableFuture.completedFuture(new VoteResult(
-                    pollId,
-                    VoteResult.Status.NO_OP,
-                    before,
-                    "<gray>No change</gray>"
-            ));
+        final int proposed = computeNewSelection(before, optionIndex, effective);
+        if (before == proposed) {
+            return new VoteResult(pollId, VoteResult.Status.NO_OP, current, "<gray>No change</gray>");
         }
 
         // Resubmission policy
         if (!effective.allowResubmissions()) {
             if (effective.multipleChoice()) {
                 // Disallow removals; allow additions up to max
-                boolean isRemoval = !proposed.containsAll(before); // any element removed?
-                if (isRemoval) {
-                    releaseInFlight(pollId, playerId);
-                    return CompletableFuture.completedFuture(new VoteResult(
-                            pollId,
-                            VoteResult.Status.REJECTED_RULES,
-                            before,
-                            "<red>You can't unselect after voting (resubmissions disabled)</red>"
-                    ));
+                if ((before & ~proposed) != 0) {
+                    return new VoteResult(pollId, VoteResult.Status.REJECTED_RULES, current,
+                            "<red>You can't unselect after voting (resubmissions disabled)</red>");
                 }
-            } else {
+            } else if (before != 0) {
                 // Single-choice: once selected, you can't switch
-                if (!before.isEmpty() && !before.equals(proposed)) {
-                    releaseInFlight(pollId, playerId);
-                    return CompletableFuture.completedFuture(new VoteResult(
-                            pollId,
-                            VoteResult.Status.REJECTED_RULES,
-                            before,
-                            "<red>You already voted. Changing your choice is disabled</red>"
-                    ));
-                }
+                return new VoteResult(pollId, VoteResult.Status.REJECTED_RULES, current,
+                        "<red>You already voted. Changing your choice is disabled</red>");
             }
         }
 
         // Max selections
         if (effective.multipleChoice()) {
             final int max = Math.max(1, effective.maxSelections());
-            if (proposed.size() > max) {
-                releaseInFlight(pollId, playerId);
-                return CompletableFuture.completedFuture(new VoteResult(
-                        pollId,
-                        VoteResult.Status.REJECTED_RULES,
-                        before,
-                        "<red>You can select at most " + max + " option" + (max == 1 ? "" : "s") + "</red>"
-                ));
+            if (Integer.bitCount(proposed) > max) {
+                return new VoteResult(pollId, VoteResult.Status.REJECTED_RULES, current,
+                        "<red>You can select at most " + max + " option" + (max == 1 ? "" : "s") + "</red>");
             }
         }
 
-        // Optimistic apply to runtime
-        runtime.applySelection(playerId, proposed);
-
-        // Persist atomically
-        return storageProvider.get()
-                .saveVoterSelection(pollId, playerId, proposed)
-                .thenApply(v -> new VoteResult(
-                        pollId,
-                        VoteResult.Status.ACCEPTED,
-                        proposed,
-                        successMessage(effective, before, proposed)
-                ))
-                .exceptionally(ex -> {
-                    // Transactional Rollback optimistic change
-                    runtime.applySelection(playerId, before);
-                    return new VoteResult(
-                            pollId,
-                            VoteResult.Status.ROLLBACK,
-                            before,
-                            "<red>Couldn’t save your vote. Please try again</red>"
-                    );
-                })
-                .whenComplete((r, t) -> releaseInFlight(pollId, playerId));
+        return null;
+    }
+
+    /** Persists the latest selection for everything queued; the caller has set {@code saving} */
+    private void saveNext(@NotNull VoterKey key, @NotNull Mailbox mb, @NotNull PollRuntime runtime) {
+        final List<Click> batch;
+        final int mask;
+        synchronized (mb) {
+            batch = mb.queued;
+            mb.queued = new ArrayList<>(1);
+            // the clicks were applied in order, so the last one holds the final selection
+            mask = batch.getLast().after();
+        }
+
+        final CompletableFuture<Void> save;
+        try {
+            save = storageProvider.get().saveVoterSelection(key.pollId(), key.voterId(), SelectionMasks.toSet(mask));
+        } catch (RuntimeException e) {
+            onFailed(key, mb, runtime, batch);
+            return;
+        }
+
+        save.whenComplete((v, ex) -> {
+            if (ex == null) {
+                onSaved(key, mb, runtime, batch, mask);
+            } else {
+                onFailed(key, mb, runtime, batch);
+            }
+        });
+    }
+
+    private void onSaved(VoterKey key, Mailbox mb, PollRuntime runtime, List<Click> batch, int mask) {
+        final boolean more;
+        synchronized (mb) {
+            mb.committed = mask;
+            more = !mb.queued.isEmpty();
+            if (!more) {
+                mb.saving = false;
+                retireIfIdle(key, mb);
+            }
+        }
+
+        final Set<Integer> saved = SelectionMasks.toSet(mask);
+        for (Click c : batch) {
+            c.result().complete(new VoteResult(key.pollId(), VoteResult.Status.ACCEPTED, saved,
+                    successMessage(c.rules(), c.before(), c.after())));
+        }
+        if (more) saveNext(key, mb, runtime);
+    }
+
+    /**
+     * Rolls the voter back to their last durable selection
+     * <p>Clicks queued behind the failed save built on it, so they are rolled back too</p>
+     */
+    private void onFailed(VoterKey key, Mailbox mb, PollRuntime runtime, List<Click> batch) {
+        final List<Click> failed = new ArrayList<>(batch);
+        final int committed;
+        synchronized (mb) {
+            failed.addAll(mb.queued);
+            mb.queued = new ArrayList<>(1);
+            mb.saving = false;
+            committed = mb.committed;
+            runtime.applySelection(key.voterId(), committed);
+            retireIfIdle(key, mb);
+        }
+
+        final Set<Integer> current = SelectionMasks.toSet(committed);
+        for (Click c : failed) {
+            c.result().complete(new VoteResult(key.pollId(), VoteResult.Status.ROLLBACK, current,
+                    "<red>Couldn’t save your vote. Please try again</red>"));
+        }
+    }
+
+    /** Drops an idle mailbox from the map; must hold its monitor */
+    private void retireIfIdle(VoterKey key, Mailbox mb) {
+        if (mb.saving || !mb.queued.isEmpty()) return;
+        mb.retired = true;
+        mailboxes.remove(key, mb);
     }
 
     /* -------------------- helpers -------------------- */
 
-    private static @NotNull Set<Integer> computeNewSelectionSet(
-            @NotNull Set<Integer> before,
-            int clickedIndex,
-            @NotNull PollRules rules
-    ) {
+    private static int computeNewSelection(int before, int clickedIndex, @NotNull PollRules rules) {
         if (!rules.multipleChoice()) {
             // single-choice: always replace with the clicked option
-            return Set.of(clickedIndex);
+            return 1 << clickedIndex;
         }
 
         // multiple-choice: toggle clicked index
-        final Set<Integer> next = new HashSet<>(before);
-        if (next.contains(clickedIndex)) next.remove(clickedIndex);
-        else next.add(clickedIndex);
-
-        return Collections.unmodifiableSet(next);
+        return before ^ (1 << clickedIndex);
     }
 
-    private static String successMessage(PollRules rules, Set<Integer> before, Set<Integer> after) {
+    private static String successMessage(PollRules rules, int before, int after) {
         if (rules.multipleChoice()) {
             return "<green>Selection updated.</green>";
         }
-        if (before.isEmpty()) return "<green>Vote recorded.</green>";
-        if (before.equals(after)) return "<gray>No change.</gray>";
+        if (before == 0) return "<green>Vote recorded.</green>";
+        if (before == after) return "<gray>No change.</gray>";
         return "<green>Vote changed.</green>";
     }
 
-    private boolean acquireInFlight(UUID pollId, UUID playerId) {
-        inFlight.computeIfAbsent(pollId, k -> ConcurrentHashMap.newKeySet());
-        return inFlight.get(pollId).add(playerId);
-    }
-
-    private void releaseInFlight(UUID pollId, UUID playerId) {
-        final Set<UUID> set = inFlight.get(pollId);
-        if (set == null) return;
-        set.remove(playerId);
-        if (set.isEmpty()) inFlight.remove(pollId);
-    }
-
 }
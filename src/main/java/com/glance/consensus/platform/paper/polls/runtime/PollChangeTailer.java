@@ -0,0 +1,219 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import com.glance.consensus.platform.paper.polls.persistence.PollChange;
+import com.glance.consensus.platform.paper.polls.persistence.PollChangeFeed;
+import com.glance.consensus.platform.paper.polls.persistence.PollStorage;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Applies changes other servers wrote to the shared change log onto the local runtimes
+ *
+ * <p>Changes are applied strictly in sequence order. A hole in the sequence usually means a
+ * change that was numbered but hasn't committed yet, so the tailer waits for it up to
+ * {@link #GAP_GRACE_MS} before moving past it. Sequences it moved past are looked up again on
+ * every tick for {@link #SKIPPED_RECHECK_MS}; one that turns up late is applied from the stored
+ * state rather than the logged value, since newer changes have already been applied over it</p>
+ *
+ * <p>{@link #tick()} is driven by a repeating async task and never blocks it: the reads and poll
+ * loads are chained, and a tick still in flight makes the next one a no-op. Polls that appear or
+ * close through the log are handed to {@code track} so their deadlines get scheduled</p>
+ *
+ * @author Cammy
+ */
+final class PollChangeTailer {
+
+    private static final int BATCH = 1000;
+    private static final long GAP_GRACE_MS = 3000L;
+    private static final long SKIPPED_RECHECK_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_SKIPPED = 1000;
+
+    private final PollChangeFeed feed;
+    private final PollStorage storage;
+    private final PollRegistry polls;
+    private final Consumer<PollRuntime> track;
+    private final Logger logger;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long lastSeq;
+    private long gapSeenAt = -1L; // guarded by running
+    private final TreeMap<Long, Long> skipped = new TreeMap<>(); // seq -> skipped at, guarded by running
+
+    PollChangeTailer(
+        @NotNull PollChangeFeed feed,
+        @NotNull PollStorage storage,
+        @NotNull PollRegistry polls,
+        @NotNull Consumer<PollRuntime> track,
+        @NotNull Logger logger,
+        long startSeq
+    ) {
+        this.feed = feed;
+        this.storage = storage;
+        this.polls = polls;
+        this.track = track;
+        this.logger = logger;
+        this.lastSeq = startSeq;
+    }
+
+    /** Starts reading and applying everything new, unless the previous tick is still running */
+    void tick() {
+        if (!running.compareAndSet(false, true)) return;
+        CompletableFuture<Void> run;
+        try {
+            run = recheckSkipped()
+                    .exceptionally(ex -> {
+                        logger.warning("Failed to recheck skipped poll changes: " + unwrap(ex).getMessage());
+                        return null;
+                    })
+                    .thenCompose(v -> drain());
+        } catch (RuntimeException e) {
+            run = CompletableFuture.failedFuture(e);
+        }
+        run.whenComplete((v, ex) -> {
+            if (ex != null) logger.warning("Failed to read the poll change log: " + unwrap(ex).getMessage());
+            running.set(false);
+        });
+    }
+
+    private CompletableFuture<Void> drain() {
+        return feed.changesAfter(lastSeq, BATCH).thenCompose(batch -> applyInOrder(batch, 0)
+                .thenCompose(complete -> complete && batch.size() == BATCH
+                        ? drain()
+                        : CompletableFuture.<Void>completedFuture(null)));
+    }
+
+    /** @return false if it stopped at a gap that is still within its grace period */
+    private CompletableFuture<Boolean> applyInOrder(List<PollChange> batch, int from) {
+        for (int i = from; i < batch.size(); i++) {
+            PollChange c = batch.get(i);
+            if (c.seq() != lastSeq + 1) {
+                long now = System.currentTimeMillis();
+                if (gapSeenAt < 0) gapSeenAt = now;
+                if (now - gapSeenAt < GAP_GRACE_MS) return CompletableFuture.completedFuture(false);
+                skip(lastSeq + 1, c.seq(), now);
+            }
+            gapSeenAt = -1L;
+            lastSeq = c.seq();
+            if (feed.nodeId().equals(c.origin())) continue;
+
+            // later changes for this poll must see it in place, so carry on once it is
+            CompletableFuture<Void> applied = apply(c, false);
+            if (!applied.isDone()) {
+                final int next = i + 1;
+                return applied.thenCompose(v -> applyInOrder(batch, next));
+            }
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    private void skip(long fromSeq, long toSeq, long now) {
+        for (long s = fromSeq; s < toSeq; s++) {
+            if (skipped.size() >= MAX_SKIPPED) {
+                logger.warning("Too many missing poll changes to recheck; giving up on " + s + " to " + (toSeq - 1));
+                return;
+            }
+            skipped.put(s, now);
+        }
+    }
+
+    /** Looks up the sequences moved past earlier and applies any that have since committed */
+    private CompletableFuture<Void> recheckSkipped() {
+        if (skipped.isEmpty()) return CompletableFuture.completedFuture(null);
+        final long now = System.currentTimeMillis();
+        skipped.values().removeIf(at -> now - at > SKIPPED_RECHECK_MS);
+        if (skipped.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return feed.changesAt(List.copyOf(skipped.keySet())).thenCompose(found -> applyLate(found, 0));
+    }
+
+    private CompletableFuture<Void> applyLate(List<PollChange> found, int from) {
+        for (int i = from; i < found.size(); i++) {
+            PollChange c = found.get(i);
+            skipped.remove(c.seq());
+            if (feed.nodeId().equals(c.origin())) continue;
+
+            CompletableFuture<Void> applied = apply(c, true);
+            if (!applied.isDone()) {
+                final int next = i + 1;
+                return applied.thenCompose(v -> applyLate(found, next));
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @param late true if the change committed after later ones were applied, so its logged
+     *             value may be stale and the stored state is read instead
+     * @return future completing once applied; failures are logged, never propagated
+     */
+    private CompletableFuture<Void> apply(PollChange c, boolean late) {
+        CompletableFuture<Void> applied;
+        try {
+            applied = applyChange(c, late);
+        } catch (RuntimeException e) {
+            applied = CompletableFuture.failedFuture(e);
+        }
+        return applied.exceptionally(ex -> {
+            logger.warning("Failed to apply change " + c.seq() + " (" + c.kind() + ") for poll "
+                    + c.pollId() + ": " + unwrap(ex).getMessage());
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> applyChange(PollChange c, boolean late) {
+        final UUID pollId = c.pollId();
+        final UUID voterId = c.voterId();
+        switch (c.kind()) {
+            case CREATE -> {
+                if (polls.get(pollId) != null) break;
+                return storage.loadPoll(pollId).<PollRuntime>thenCompose(opt -> {
+                    if (opt.isEmpty()) return CompletableFuture.completedFuture(null);
+                    PollRuntime rt = new PollRuntime(opt.get());
+                    // votes logged after a late create were dropped while the poll was missing
+                    if (!late) return CompletableFuture.completedFuture(rt);
+                    return storage.loadAllSelections(pollId).thenApply(all -> {
+                        SelectionBatch batch = new SelectionBatch(all.size());
+                        all.forEach((voter, sel) -> batch.add(voter, SelectionMasks.toMask(sel)));
+                        rt.bootstrap(batch);
+                        return rt;
+                    });
+                }).thenAccept(rt -> {
+                    if (rt != null && polls.putIfAbsent(rt)) track.accept(rt);
+                });
+            }
+            case VOTE -> {
+                PollRuntime rt = polls.get(pollId);
+                if (rt == null || voterId == null) break;
+                if (!late) {
+                    rt.applySelection(voterId, c.mask());
+                    break;
+                }
+                return storage.loadVoterSelection(pollId, voterId)
+                        .thenAccept(sel -> rt.applySelection(voterId, SelectionMasks.toMask(sel)));
+            }
+            case CLOSE -> {
+                PollRuntime rt = polls.get(pollId);
+                if (rt == null || rt.getPoll().isClosed()) break;
+                rt.close();
+                track.accept(rt);
+            }
+            case DELETE -> polls.remove(pollId);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+}
@@ -3,12 +3,15 @@ package com.glance.consensus.platform.paper.polls.runtime;
 import com.glance.consensus.platform.paper.module.Manager;
 import com.glance.consensus.platform.paper.polls.builder.PollBuildSession;
 import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollListOption;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.SequencedCollection;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -71,24 +74,50 @@ public interface PollManager extends Manager {
      */
     Optional<PollRuntime> get(@NotNull UUID pollId);
 
-    /** All known polls in memory (active + closed) */
+    /** All known polls in memory (active + closed), unordered */
     Collection<PollRuntime> all();
 
     /**
      * Returns all currently active (open) polls
      *
-     * @return collection of active polls
+     * @return live view of active polls, soonest closing first
      */
-    Collection<PollRuntime> active();
+    SequencedCollection<PollRuntime> active();
+
+    /**
+     * Returns all currently active (open) polls by creation time
+     *
+     * @return live view of active polls, oldest created first
+     */
+    SequencedCollection<PollRuntime> activeByCreation();
+
+    /**
+     * Returns the closed polls still held in memory
+     *
+     * @return live view of closed polls, most recently closed first
+     */
+    SequencedCollection<PollRuntime> closed();
+
+    /**
+     * Finds polls by their readable identifier
+     *
+     * @param identifier the exact readable identifier
+     * @return matching polls, newest created first
+     */
+    List<PollRuntime> findByIdentifier(@NotNull String identifier);
+
+    /**
+     * Readable identifiers for completion
+     *
+     * @param scope which polls to draw identifiers from
+     * @param prefix case-insensitive prefix, empty for all
+     * @return distinct identifiers in case-insensitive order
+     */
+    List<String> identifiers(@NotNull PollListOption scope, @NotNull String prefix);
 
     /** Record that a player voted in this poll (runtime-only cache) */
     void markVoted(@NotNull UUID pollId, @NotNull UUID voterId);
 
-    /** Convenience view of closed polls (derived from {@link #all()}) */
-    default Collection<PollRuntime> closed() {
-        return all().stream().filter(rt -> rt.getPoll().isClosed()).toList();
-    }
-
     /**
      * Closes a poll immediately
      *
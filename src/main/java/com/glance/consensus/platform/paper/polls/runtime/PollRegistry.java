@@ -0,0 +1,210 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollListOption;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * In-memory poll cache with secondary indexes kept alongside the primary id map
+ *
+ * <ul>
+ *   <li>open polls, soonest closing first</li>
+ *   <li>open polls, oldest created first</li>
+ *   <li>closed polls, most recently closed first</li>
+ *   <li>readable identifier (case-insensitive) to its polls, newest created first</li>
+ * </ul>
+ *
+ * <p>Every ordering key is immutable for the life of a runtime, so entries never move within
+ * an index; a close moves a runtime from the open indexes to the closed one via {@link #reindex}.
+ * Mutations are serialised, reads are lock-free and the views are weakly consistent</p>
+ *
+ * @author Cammy
+ */
+final class PollRegistry {
+
+    private static final Comparator<PollRuntime> BY_ID =
+            Comparator.comparing((PollRuntime rt) -> rt.getPoll().getId());
+
+    private static final Comparator<PollRuntime> BY_CLOSES_AT =
+            Comparator.comparing((PollRuntime rt) -> rt.getPoll().getClosesAt()).thenComparing(BY_ID);
+
+    private static final Comparator<PollRuntime> BY_CREATED_AT =
+            Comparator.comparing((PollRuntime rt) -> rt.getPoll().getCreatedAt()).thenComparing(BY_ID);
+
+    private static final Comparator<PollRuntime> BY_CLOSED_AT_DESC =
+            Comparator.comparing((PollRuntime rt) -> closedAt(rt.getPoll())).reversed().thenComparing(BY_ID);
+
+    private final Map<UUID, PollRuntime> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<PollRuntime> openByCloses = new ConcurrentSkipListSet<>(BY_CLOSES_AT);
+    private final NavigableSet<PollRuntime> openByCreated = new ConcurrentSkipListSet<>(BY_CREATED_AT);
+    private final NavigableSet<PollRuntime> closedByClosed = new ConcurrentSkipListSet<>(BY_CLOSED_AT_DESC);
+    private final NavigableMap<String, NavigableSet<PollRuntime>> byIdentifier =
+            new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Object lock = new Object();
+
+    /** A local close only flips the flag, so fall back to the scheduled close (as retention does) */
+    private static Instant closedAt(@NotNull Poll p) {
+        return p.getClosedAt() != null ? p.getClosedAt() : p.getClosesAt();
+    }
+
+    /* ---- Reads ---- */
+
+    @Nullable PollRuntime get(@NotNull UUID pollId) {
+        return byId.get(pollId);
+    }
+
+    @NotNull Collection<PollRuntime> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /** Open polls, soonest closing first */
+    @NotNull SequencedCollection<PollRuntime> openByClosesAt() {
+        return Collections.unmodifiableSequencedCollection(openByCloses);
+    }
+
+    /** Open polls, oldest created first */
+    @NotNull SequencedCollection<PollRuntime> openByCreatedAt() {
+        return Collections.unmodifiableSequencedCollection(openByCreated);
+    }
+
+    /** Closed polls, most recently closed first */
+    @NotNull SequencedCollection<PollRuntime> closedByClosedAt() {
+        return Collections.unmodifiableSequencedCollection(closedByClosed);
+    }
+
+    /** Polls with exactly this readable identifier, newest created first */
+    @NotNull List<PollRuntime> withIdentifier(@NotNull String identifier) {
+        NavigableSet<PollRuntime> matches = byIdentifier.get(identifier);
+        if (matches == null) return List.of();
+
+        List<PollRuntime> out = new ArrayList<>(matches.size());
+        for (PollRuntime rt : matches.descendingSet()) {
+            if (identifier.equals(rt.getPoll().getPollIdentifier())) out.add(rt);
+        }
+        return out;
+    }
+
+    /** Distinct readable identifiers starting with {@code prefix} (ignoring case) whose polls are in scope */
+    @NotNull List<String> identifiers(@NotNull PollListOption scope, @NotNull String prefix) {
+        var range = prefix.isEmpty()
+                ? byIdentifier
+                : byIdentifier.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        List<String> out = new ArrayList<>();
+        for (NavigableSet<PollRuntime> matches : range.values()) {
+            Set<String> seen = new HashSet<>(2);
+            for (PollRuntime rt : matches) {
+                Poll p = rt.getPoll();
+                boolean inScope = switch (scope) {
+                    case ACTIVE -> !p.isClosed();
+                    case CLOSED -> p.isClosed();
+                    case ALL -> true;
+                };
+                if (inScope && seen.add(p.getPollIdentifier())) out.add(p.getPollIdentifier());
+            }
+        }
+        return out;
+    }
+
+    /* ---- Mutations ---- */
+
+    /** Adds the runtime unless one is already cached for its poll; returns the cached one */
+    @NotNull PollRuntime computeIfAbsent(@NotNull UUID pollId, @NotNull Function<UUID, PollRuntime> factory) {
+        PollRuntime existing = byId.get(pollId);
+        if (existing != null) return existing;
+        synchronized (lock) {
+            existing = byId.get(pollId);
+            if (existing != null) return existing;
+            PollRuntime rt = factory.apply(pollId);
+            byId.put(pollId, rt);
+            index(rt);
+            return rt;
+        }
+    }
+
+    /** @return true if the runtime was added, false if its poll was already cached */
+    boolean putIfAbsent(@NotNull PollRuntime runtime) {
+        UUID pollId = runtime.getPoll().getId();
+        return computeIfAbsent(pollId, __ -> runtime) == runtime;
+    }
+
+    /** Replaces whatever is cached for the runtime's poll */
+    void put(@NotNull PollRuntime runtime) {
+        synchronized (lock) {
+            PollRuntime previous = byId.put(runtime.getPoll().getId(), runtime);
+            if (previous != null) unindex(previous);
+            index(runtime);
+        }
+    }
+
+    /** Moves a runtime to the indexes matching its current open/closed state */
+    void reindex(@NotNull PollRuntime runtime) {
+        synchronized (lock) {
+            if (byId.get(runtime.getPoll().getId()) != runtime) return;
+            unindex(runtime);
+            index(runtime);
+        }
+    }
+
+    @Nullable PollRuntime remove(@NotNull UUID pollId) {
+        synchronized (lock) {
+            PollRuntime rt = byId.remove(pollId);
+            if (rt != null) unindex(rt);
+            return rt;
+        }
+    }
+
+    boolean remove(@NotNull UUID pollId, @NotNull PollRuntime runtime) {
+        synchronized (lock) {
+            if (!byId.remove(pollId, runtime)) return false;
+            unindex(runtime);
+            return true;
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            byId.clear();
+            openByCloses.clear();
+            openByCreated.clear();
+            closedByClosed.clear();
+            byIdentifier.clear();
+        }
+    }
+
+    // guarded by lock
+    private void index(PollRuntime rt) {
+        Poll p = rt.getPoll();
+        if (p.isClosed()) {
+            closedByClosed.add(rt);
+        } else {
+            openByCloses.add(rt);
+            openByCreated.add(rt);
+        }
+        byIdentifier.computeIfAbsent(p.getPollIdentifier(), __ -> new ConcurrentSkipListSet<>(BY_CREATED_AT)).add(rt);
+    }
+
+    // guarded by lock
+    private void unindex(PollRuntime rt) {
+        Poll p = rt.getPoll();
+        openByCloses.remove(rt);
+        openByCreated.remove(rt);
+        closedByClosed.remove(rt);
+
+        NavigableSet<PollRuntime> matches = byIdentifier.get(p.getPollIdentifier());
+        if (matches != null) {
+            matches.remove(rt);
+            if (matches.isEmpty()) byIdentifier.remove(p.getPollIdentifier(), matches);
+        }
+    }
+
+}
@@ -2,20 +2,27 @@ package com.glance.consensus.platform.paper.polls.runtime;
 
 import com.glance.consensus.platform.paper.polls.display.PollDisplay;
 import com.glance.consensus.platform.paper.polls.domain.Poll;
-import com.glance.consensus.platform.paper.polls.domain.PollOption;
+import com.glance.consensus.platform.paper.polls.utils.SelectionMasks;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Runtime wrapper around a {@link Poll} that stores live per-voter selections
  * and maintains tallies for fast UI reads
  * <p>
- * Thread-safe: vote and close operations are synchronized
+ * Thread-safe without a runtime-wide lock: each voter's selection is swapped atomically in the
+ * store and the resulting per-option delta is applied with atomic adds, so votes on one poll
+ * don't serialise and tally reads never block
  *
  * @author Cammy
  */
@@ -23,7 +30,10 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public final class PollRuntime {
 
-    /** Backing poll definition (mutable option vote counts, closed flag) */
+    /** Consistent reads tried by {@link #results()} before it settles for the last published snapshot */
+    private static final int SNAPSHOT_ATTEMPTS = 8;
+
+    /** Backing poll definition (closed flag is the only mutable state) */
     @Getter
     private final Poll poll;
 
@@ -31,23 +41,130 @@ public final class PollRuntime {
     @Getter
     private final PollDisplay.Mode mode = PollDisplay.Mode.BOOK;
 
-    /** voterId -> indices chosen (complete set per voter) */
-    private final Map<UUID, Set<Integer>> votes = new ConcurrentHashMap<>();
+    /** voterId -> selection mask (complete selection per voter, see {@link SelectionMasks}) */
+    private final VoterSelectionStore votes = new VoterSelectionStore();
+
+    /** Per-option vote counts, indexed by option index */
+    private final AtomicIntegerArray tallies = new AtomicIntegerArray(SelectionMasks.MAX_INDEX + 1);
+
+    /* Selection writes started / finished; equal means no tally delta is half-applied */
+    private final AtomicLong writesStarted = new AtomicLong();
+    private final AtomicLong writesFinished = new AtomicLong();
+
+    /**
+     * Set when seeded from stored tallies ({@link #bootstrapTallies}): the voters stay in storage
+     * and only the selections of viewers that were looked up are held, in {@link #viewerSelections}
+     */
+    private volatile boolean talliesOnly;
+    private final Map<UUID, Integer> viewerSelections = new ConcurrentHashMap<>();
+
+    /** Newest consistent results; published by each write as it finishes, or by a read that finds it behind */
+    private final AtomicReference<ResultsSnapshot> results = new AtomicReference<>();
 
     /* ------------ Snapshots ------------ */
 
-    public synchronized boolean hasVoted(@NotNull UUID voter) {
-        var s = votes.get(voter);
-        return s != null && !s.isEmpty();
+    public boolean hasVoted(@NotNull UUID voter) {
+        return selectionMask(voter) != 0;
+    }
+
+    /** Current selection of a voter as a {@link SelectionMasks} bitmask, 0 if none */
+    public int selectionMask(@NotNull UUID voter) {
+        int mask = votes.get(voter);
+        if (mask == 0 && talliesOnly) mask = viewerSelections.getOrDefault(voter, 0);
+        return mask;
+    }
+
+    /** True if this runtime holds counts only and the viewer's own selection is still in storage */
+    public boolean needsViewerSelection(@NotNull UUID viewer) {
+        return talliesOnly && !viewerSelections.containsKey(viewer);
+    }
+
+    /** Records a viewer's stored selection for display; tallies are not touched */
+    public void putViewerSelection(@NotNull UUID viewer, int mask) {
+        viewerSelections.put(viewer, mask & 0xFF);
+    }
+
+    /** Number of voters with a selection (voters held in memory, so 0 for a tallies-only runtime) */
+    public int voterCount() {
+        return votes.size();
+    }
+
+    /**
+     * Visits every voter with their selection mask, without materialising per-voter sets
+     * <p>Weakly consistent: a vote landing mid-visit may or may not be seen. Visitors run under
+     * a segment lock, so keep them to copying data out</p>
+     */
+    public void forEachVoter(@NotNull ObjIntConsumer<UUID> visitor) {
+        votes.forEach(visitor);
+    }
+
+    public Set<UUID> votersSnapshot() {
+        return votes.voters();
+    }
+
+    /** Current votes for an option; 0 for indices the poll doesn't have */
+    public int votes(int optionIndex) {
+        if (optionIndex < 0 || optionIndex >= tallies.length()) return 0;
+        // concurrent transitions of one voter can briefly overlap a -1 before the matching +1
+        return Math.max(0, tallies.get(optionIndex));
+    }
+
+    /** Current votes for options {@code 0..optionCount-1}, read without locking */
+    public int[] tallies(int optionCount) {
+        int[] out = new int[optionCount];
+        for (int i = 0; i < optionCount; i++) out[i] = votes(i);
+        return out;
+    }
+
+    /**
+     * Latest results as one immutable snapshot
+     * <p>Writes publish a snapshot as they finish, so this is usually just a read. If the newest
+     * one is behind (its write overlapped another), the counts are re-read at a moment with no
+     * half-applied vote; while writes keep overlapping, the last published snapshot is returned.
+     * A torn read is never handed out</p>
+     */
+    public @NotNull ResultsSnapshot results() {
+        ResultsSnapshot current = results.get();
+        if (current != null && current.version() == writesFinished.get()) return current;
+
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            ResultsSnapshot fresh = tryPublish();
+            if (fresh != null) return fresh;
+            Thread.onSpinWait();
+        }
+
+        current = results.get();
+        return current != null ? current : new ResultsSnapshot(0L, new int[poll.getOptions().size()], 0);
+    }
+
+    /**
+     * Reads the counts and publishes them, unless a write is in flight
+     *
+     * @return the newest published snapshot, or null if the read overlapped a write
+     */
+    private @Nullable ResultsSnapshot tryPublish() {
+        final long finished = writesFinished.get();
+        if (writesStarted.get() != finished) return null;
+
+        int[] counts = tallies(poll.getOptions().size());
+        int voters = votes.size();
+        if (writesStarted.get() != finished) return null;
+
+        // never replace a newer snapshot with an older one
+        final ResultsSnapshot built = new ResultsSnapshot(finished, counts, voters);
+        return results.accumulateAndGet(built, (cur, next) ->
+                cur != null && cur.version() >= next.version() ? cur : next);
     }
 
-    public synchronized Set<UUID> votersSnapshot() {
-        return Set.copyOf(votes.keySet());
+    /** Ends a write; the last of any overlapping writes to finish publishes their combined result */
+    private void finishWrite() {
+        writesFinished.incrementAndGet();
+        tryPublish();
     }
 
-    public synchronized Set<Integer> selectionSnapshot(@NotNull UUID voter) {
-        var s = votes.get(voter);
-        return (s == null) ? Set.of() : Set.copyOf(s);
+    /** Shared immutable set; see {@link SelectionMasks#toSet(int)} */
+    public Set<Integer> selectionSnapshot(@NotNull UUID voter) {
+        return SelectionMasks.toSet(selectionMask(voter));
     }
 
     /* ------------ Mutations owned by VoteManager ------------ */
@@ -61,78 +178,76 @@ public final class PollRuntime {
      * @param newSelection new selection set; empty to clear
      * @return true if state changed; false if no change
      */
-    public synchronized boolean applySelection(
+    public boolean applySelection(
             @NotNull UUID voter,
             @NotNull Set<Integer> newSelection
     ) {
-        final Set<Integer> before = votes.getOrDefault(voter, Set.of());
-        if (before.equals(newSelection)) return false;
-
-        // Copy to stable sets for delta calc
-        final Set<Integer> beforeCopy = new HashSet<>(before);
-        final Set<Integer> afterCopy  = new HashSet<>(newSelection);
-
-        if (afterCopy.isEmpty()) {
-            votes.remove(voter);
-        } else {
-            // store a defensive copy
-            votes.put(voter, Set.copyOf(afterCopy));
-        }
-
-        applyTalliesDelta(beforeCopy, afterCopy);
-        return true;
+        return applySelection(voter, SelectionMasks.toMask(newSelection));
     }
 
     /**
-     * Seeds runtime with previously persisted selections for a voter
+     * Mask form of {@link #applySelection(UUID, Set)}
+     *
+     * @param mask new selection bitmask; 0 to clear
      */
-    public synchronized void supplySelectionBootstrap(
-            @NotNull UUID voter,
-            @NotNull Collection<Integer> indices
-    ) {
-        applySelection(voter, Set.copyOf(new HashSet<>(indices)));
-    }
-
-    /** Marks this poll as closed */
-    public synchronized void close() {
-        poll.setClosed(true);
+    public boolean applySelection(@NotNull UUID voter, int mask) {
+        writesStarted.incrementAndGet();
+        try {
+            final int before = votes.put(voter, mask);
+            if (before == mask) return false;
+
+            // swaps for one voter are atomic, so their deltas compose in any interleaving
+            for (int m = before & ~mask; m != 0; m &= m - 1) tallies.decrementAndGet(Integer.numberOfTrailingZeros(m));
+            for (int m = mask & ~before; m != 0; m &= m - 1) tallies.incrementAndGet(Integer.numberOfTrailingZeros(m));
+            return true;
+        } finally {
+            finishWrite();
+        }
     }
 
-    /* ------------ Internals ------------ */
-
     /**
-     * Incrementally updates tallies given a single voters transition
+     * Seeds the runtime with persisted selections in one pass
+     * <p>Voters that already have an in-memory selection keep it. Tallies are accumulated
+     * locally and applied once per option rather than per voter</p>
+     *
+     * @return number of voters loaded
      */
-    private synchronized void applyTalliesDelta(
-            @NotNull Set<Integer> before,
-            @NotNull Set<Integer> after
-    ) {
-        if (before.equals(after)) return;
-
-        final int optCount = poll.getOptions().size();
-        // Build a working array from current PollOption votes
-        int[] counts = new int[optCount];
-        for (int i = 0; i < optCount; i++) counts[i] = poll.getOptions().get(i).votes();
-
-        // Compute delta: remove vanished, add new
-        for (int i : before) if (!after.contains(i) && inBounds(i, optCount)) counts[i] = Math.max(0, counts[i] - 1);
-        for (int i : after)  if (!before.contains(i) && inBounds(i, optCount)) counts[i] = counts[i] + 1;
-
-        writeTallies(counts);
+    public int bootstrap(@NotNull SelectionBatch batch) {
+        writesStarted.incrementAndGet();
+        try {
+            final int[] counts = new int[tallies.length()];
+            final int loaded = votes.putAllAbsent(batch, counts);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) tallies.addAndGet(i, counts[i]);
+            }
+            return loaded;
+        } finally {
+            finishWrite();
+        }
     }
 
-    private synchronized void writeTallies(int[] counts) {
-        final int optCount = poll.getOptions().size();
-        for (int i = 0; i < optCount; i++) {
-            var option = poll.getOptions().get(i);
-            poll.getOptions().set(i, new PollOption(
-                    option.index(), option.labelRaw(), option.tooltipRaw(), counts[i]
-            ));
+    /**
+     * Seeds a closed poll from its stored per-option counts instead of its voters
+     * <p>Each viewer's own selection is then read from storage on demand, see
+     * {@link #needsViewerSelection(UUID)}</p>
+     *
+     * @param counts option index -> votes
+     */
+    public void bootstrapTallies(@NotNull Map<Integer, Integer> counts) {
+        writesStarted.incrementAndGet();
+        try {
+            talliesOnly = true;
+            counts.forEach((idx, n) -> {
+                if (idx >= 0 && idx < tallies.length() && n != 0) tallies.addAndGet(idx, n);
+            });
+        } finally {
+            finishWrite();
         }
     }
 
-    private static boolean inBounds(int idx, int size) {
-        return idx >= 0 && idx < size;
+    /** Marks this poll as closed */
+    public synchronized void close() {
+        poll.setClosed(true);
     }
 
 }
@@ -0,0 +1,114 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel for poll deadlines (scheduled close, retention expiry)
+ *
+ * <p>{@link #schedule} drops a timeout into the slot for its deadline in O(1); each
+ * {@link #advance} only visits the slots of the ticks that have passed. Deadlines further out
+ * than one revolution carry a round count and are skipped until their last lap</p>
+ *
+ * <p>Timeouts are never cancelled: the owner re-checks the poll when one fires, so stale or
+ * duplicate entries are harmless. Thread-safe</p>
+ *
+ * @author Cammy
+ */
+final class PollTimingWheel {
+
+    enum Kind { CLOSE, REAP }
+
+    /**
+     * A deadline that has passed
+     *
+     * @param deadline epoch millis it was scheduled for
+     */
+    record Timeout(@NotNull UUID pollId, @NotNull Kind kind, long deadline) {}
+
+    private static final class Entry {
+        final Timeout timeout;
+        long rounds;
+
+        Entry(Timeout timeout, long rounds) {
+            this.timeout = timeout;
+            this.rounds = rounds;
+        }
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry>[] slots;
+
+    /** Wall-clock start of tick 0 */
+    private final long origin;
+    /** Next tick to be processed; everything before it has fired */
+    private long nextTick; // guarded by this
+
+    /**
+     * @param tickMillis resolution; deadlines fire at most this late
+     * @param wheelSize slot count, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    PollTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) slots[i] = new ArrayList<>(0);
+        this.origin = nowMillis;
+    }
+
+    /** Schedules a deadline; one already due fires on the next {@link #advance} */
+    synchronized void schedule(@NotNull UUID pollId, @NotNull Kind kind, long deadlineMillis) {
+        // ceil, so nothing fires before its deadline
+        long tick = Math.max(nextTick, Math.floorDiv(deadlineMillis - origin + tickMillis - 1, tickMillis));
+        long rounds = (tick - nextTick) / slots.length;
+        slots[(int) (tick & mask)].add(new Entry(new Timeout(pollId, kind, deadlineMillis), rounds));
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis}
+     *
+     * @return the timeouts that fired
+     */
+    synchronized @NotNull List<Timeout> advance(long nowMillis) {
+        long lastTick = Math.floorDiv(nowMillis - origin, tickMillis);
+        if (lastTick < nextTick) return List.of();
+
+        List<Timeout> fired = new ArrayList<>();
+        // after a full revolution every slot has been visited once; later ticks only lower round counts
+        long ticks = lastTick - nextTick + 1;
+        long laps = ticks / slots.length;
+
+        for (long t = nextTick; t <= lastTick && t < nextTick + slots.length; t++) {
+            // a slot visited at tick t also stands for t + slots.length, t + 2 * slots.length, ...
+            long visits = laps + ((t - nextTick) < (ticks % slots.length) ? 1 : 0);
+            List<Entry> slot = slots[(int) (t & mask)];
+            int kept = 0;
+            for (int i = 0; i < slot.size(); i++) {
+                Entry e = slot.get(i);
+                if (e.rounds < visits) {
+                    fired.add(e.timeout);
+                } else {
+                    e.rounds -= visits;
+                    slot.set(kept++, e);
+                }
+            }
+            slot.subList(kept, slot.size()).clear();
+        }
+
+        nextTick = lastTick + 1;
+        return fired;
+    }
+
+    synchronized int size() {
+        int n = 0;
+        for (List<Entry> slot : slots) n += slot.size();
+        return n;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable, internally consistent view of a poll's results at one point in time
+ *
+ * <p>Published by {@link PollRuntime} as selection writes finish and handed out by
+ * {@link PollRuntime#results()}. Counts, total and percentages are all derived from the same
+ * read, taken while no vote was half-applied, so a renderer never mixes options from different
+ * moments. The
+ * {@link #version()} only ever grows for a runtime; equal versions mean equal results, so it can
+ * key render caches</p>
+ *
+ * @author Cammy
+ */
+public final class ResultsSnapshot {
+
+    private final long version;
+    private final int[] counts;
+    private final double[] percents;
+    private final int total;
+    private final int voters;
+
+    ResultsSnapshot(long version, int @NotNull [] counts, int voters) {
+        int sum = 0;
+        for (int c : counts) sum += c;
+
+        double[] pct = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) pct[i] = sum == 0 ? 0.0 : (counts[i] * 100.0) / sum;
+
+        this.version = version;
+        this.counts = counts;
+        this.percents = pct;
+        this.total = sum;
+        this.voters = voters;
+    }
+
+    /** Monotonic per runtime; bumps with every applied selection change */
+    public long version() {
+        return version;
+    }
+
+    public int optionCount() {
+        return counts.length;
+    }
+
+    /** Votes for an option; 0 for indices the poll doesn't have */
+    public int votes(int optionIndex) {
+        return optionIndex >= 0 && optionIndex < counts.length ? counts[optionIndex] : 0;
+    }
+
+    /** Share of all votes cast for an option, 0-100 */
+    public double percent(int optionIndex) {
+        return optionIndex >= 0 && optionIndex < percents.length ? percents[optionIndex] : 0.0;
+    }
+
+    /** Sum of votes across options (a multiple-choice voter counts once per option) */
+    public int totalVotes() {
+        return total;
+    }
+
+    /** Voters with a non-empty selection */
+    public int voterCount() {
+        return voters;
+    }
+
+}
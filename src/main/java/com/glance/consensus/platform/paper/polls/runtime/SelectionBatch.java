@@ -0,0 +1,54 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Append-only buffer of (voter, mask) pairs: persisted selections for {@link PollRuntime#bootstrap},
+ * or voters copied out of a runtime with {@link PollRuntime#forEachVoter}
+ *
+ * <p>Backed by parallel primitive arrays, so loading a large poll costs a few array growths
+ * rather than objects per voter. Not thread-safe; fill it from one thread, then hand it over</p>
+ *
+ * @author Cammy
+ */
+public final class SelectionBatch {
+
+    long[] his;
+    long[] los;
+    byte[] masks;
+    int size;
+
+    public SelectionBatch() {
+        this(16);
+    }
+
+    public SelectionBatch(int expectedSize) {
+        int cap = Math.max(4, expectedSize);
+        this.his = new long[cap];
+        this.los = new long[cap];
+        this.masks = new byte[cap];
+    }
+
+    /** Adds a voter's persisted selection; empty masks are skipped */
+    public void add(@NotNull UUID voter, int mask) {
+        if ((mask & 0xFF) == 0) return;
+        if (size == masks.length) {
+            int cap = masks.length * 2;
+            his = Arrays.copyOf(his, cap);
+            los = Arrays.copyOf(los, cap);
+            masks = Arrays.copyOf(masks, cap);
+        }
+        his[size] = voter.getMostSignificantBits();
+        los[size] = voter.getLeastSignificantBits();
+        masks[size] = (byte) mask;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Compact voter to selection-mask map for a single poll
+ *
+ * <p>Open addressing over parallel primitive arrays: a voter is stored as the two longs of its
+ * UUID plus one mask byte, 17 bytes a slot. Tables stay at most 3/4 full and grow by doubling,
+ * so that is roughly 23 to 45 bytes per voter, versus a map node, UUID, set and boxed indices
+ * per voter in a {@code Map<UUID, Set<Integer>>}. A zero mask marks an empty slot, so clearing
+ * a selection removes the voter</p>
+ *
+ * <p>The table is split into {@link #STRIPES} independently locked segments, so writes for
+ * different voters rarely contend. Each operation is atomic per voter</p>
+ *
+ * @author Cammy
+ */
+final class VoterSelectionStore {
+
+    private static final int STRIPES = 16;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Segment[] segments = new Segment[STRIPES];
+
+    VoterSelectionStore() {
+        for (int i = 0; i < STRIPES; i++) segments[i] = new Segment();
+    }
+
+    /** Selection mask of a voter, 0 if they have no selection */
+    int get(@NotNull UUID voter) {
+        long hi = voter.getMostSignificantBits();
+        long lo = voter.getLeastSignificantBits();
+        long h = hash(hi, lo);
+        return segmentFor(h).get(hi, lo, h);
+    }
+
+    /**
+     * Replaces a voter's selection
+     *
+     * @param mask new selection mask (low 8 bits); 0 removes the voter
+     * @return the previous mask, 0 if there was none
+     */
+    int put(@NotNull UUID voter, int mask) {
+        long hi = voter.getMostSignificantBits();
+        long lo = voter.getLeastSignificantBits();
+        long h = hash(hi, lo);
+        return segmentFor(h).put(hi, lo, h, mask & 0xFF);
+    }
+
+    /**
+     * Loads a batch of persisted selections, keeping any voter already present (their
+     * in-memory selection is newer than what was read from storage)
+     *
+     * <p>Entries are bucketed by segment first, so each segment is locked and grown once</p>
+     *
+     * @param optionCounts receives, per option index, the votes added by inserted entries
+     * @return number of voters inserted
+     */
+    int putAllAbsent(@NotNull SelectionBatch batch, int @NotNull [] optionCounts) {
+        final int n = batch.size;
+        if (n == 0) return 0;
+
+        // counting sort of entry positions by segment
+        final long[] hashes = new long[n];
+        final int[] starts = new int[STRIPES + 1];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(batch.his[i], batch.los[i]);
+            starts[segmentIndex(hashes[i]) + 1]++;
+        }
+        for (int s = 0; s < STRIPES; s++) starts[s + 1] += starts[s];
+
+        final int[] order = new int[n];
+        final int[] fill = Arrays.copyOf(starts, STRIPES);
+        for (int i = 0; i < n; i++) order[fill[segmentIndex(hashes[i])]++] = i;
+
+        int inserted = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            if (starts[s] == starts[s + 1]) continue;
+            inserted += segments[s].putAllAbsent(batch, hashes, order, starts[s], starts[s + 1], optionCounts);
+        }
+        return inserted;
+    }
+
+    /** Number of voters with a non-empty selection */
+    int size() {
+        int n = 0;
+        for (Segment s : segments) n += s.size();
+        return n;
+    }
+
+    /** Visits every voter with their mask; each segment is visited under its lock, so keep visitors short */
+    void forEach(@NotNull ObjIntConsumer<UUID> visitor) {
+        for (Segment s : segments) s.forEach(visitor);
+    }
+
+    @NotNull Set<UUID> voters() {
+        Set<UUID> out = new HashSet<>(Math.max(16, size() * 2));
+        forEach((voter, mask) -> out.add(voter));
+        return out;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[segmentIndex(hash)];
+    }
+
+    private static int segmentIndex(long hash) {
+        // top bits pick the segment, low bits the slot within it
+        return (int) (hash >>> 60) & (STRIPES - 1);
+    }
+
+    /** 64-bit finaliser from MurmurHash3 */
+    private static long hash(long hi, long lo) {
+        long h = hi ^ Long.rotateLeft(lo, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Linear-probing table; removals shift later entries back instead of leaving tombstones */
+    private static final class Segment {
+        private long[] his = new long[INITIAL_CAPACITY];
+        private long[] los = new long[INITIAL_CAPACITY];
+        private byte[] masks = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized int get(long hi, long lo, long h) {
+            int slot = find(hi, lo, h);
+            return slot < 0 ? 0 : masks[slot] & 0xFF;
+        }
+
+        synchronized int put(long hi, long lo, long h, int mask) {
+            int slot = find(hi, lo, h);
+            if (slot >= 0) {
+                int before = masks[slot] & 0xFF;
+                if (mask == 0) {
+                    delete(slot);
+                } else {
+                    masks[slot] = (byte) mask;
+                }
+                return before;
+            }
+            if (mask == 0) return 0;
+
+            // keep load at or below 3/4
+            if ((size + 1) * 4 > masks.length * 3) resize(masks.length * 2);
+            insert(hi, lo, h, (byte) mask);
+            size++;
+            return 0;
+        }
+
+        synchronized int putAllAbsent(
+            SelectionBatch batch, long[] hashes, int[] order, int from, int to, int[] optionCounts
+        ) {
+            int capacity = masks.length;
+            while ((size + (to - from)) * 4 > capacity * 3) capacity *= 2;
+            if (capacity != masks.length) resize(capacity);
+
+            int inserted = 0;
+            for (int k = from; k < to; k++) {
+                int i = order[k];
+                long hi = batch.his[i], lo = batch.los[i], h = hashes[i];
+                if (find(hi, lo, h) >= 0) continue;
+
+                byte mask = batch.masks[i];
+                insert(hi, lo, h, mask);
+                size++;
+                inserted++;
+                for (int m = mask & 0xFF; m != 0; m &= m - 1) optionCounts[Integer.numberOfTrailingZeros(m)]++;
+            }
+            return inserted;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void forEach(ObjIntConsumer<UUID> visitor) {
+            for (int i = 0; i < masks.length; i++) {
+                if (masks[i] != 0) visitor.accept(new UUID(his[i], los[i]), masks[i] & 0xFF);
+            }
+        }
+
+        private int find(long hi, long lo, long h) {
+            int m = masks.length - 1;
+            for (int i = (int) h & m; masks[i] != 0; i = (i + 1) & m) {
+                if (his[i] == hi && los[i] == lo) return i;
+            }
+            return -1;
+        }
+
+        private void insert(long hi, long lo, long h, byte mask) {
+            int m = masks.length - 1;
+            int i = (int) h & m;
+            while (masks[i] != 0) i = (i + 1) & m;
+            his[i] = hi;
+            los[i] = lo;
+            masks[i] = mask;
+        }
+
+        private void delete(int slot) {
+            int m = masks.length - 1;
+            int gap = slot;
+            masks[gap] = 0;
+            size--;
+
+            for (int i = (gap + 1) & m; masks[i] != 0; i = (i + 1) & m) {
+                int home = (int) hash(his[i], los[i]) & m;
+                // move the entry back unless its home lies cyclically in (gap, i]
+                boolean stays = gap <= i ? (home > gap && home <= i) : (home > gap || home <= i);
+                if (stays) continue;
+
+                his[gap] = his[i];
+                los[gap] = los[i];
+                masks[gap] = masks[i];
+                masks[i] = 0;
+                gap = i;
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldHis = his;
+            long[] oldLos = los;
+            byte[] oldMasks = masks;
+
+            his = new long[capacity];
+            los = new long[capacity];
+            masks = new byte[capacity];
+            for (int i = 0; i < oldMasks.length; i++) {
+                if (oldMasks[i] != 0) insert(oldHis[i], oldLos[i], hash(oldHis[i], oldLos[i]), oldMasks[i]);
+            }
+        }
+    }
+
+}
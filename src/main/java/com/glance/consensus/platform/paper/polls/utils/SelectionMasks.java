@@ -0,0 +1,60 @@
+package com.glance.consensus.platform.paper.polls.utils;
+
+import com.glance.consensus.platform.paper.polls.builder.PollBuildSession;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Bitmask encoding of a voter's selection: bit {@code i} set means option {@code i} is chosen
+ *
+ * <p>{@link PollBuildSession#MAX_OPTIONS} options always fit in the low byte, so there are only
+ * 256 distinct selections; {@link #toSet(int)} hands out one shared immutable set per mask
+ * instead of allocating a fresh set for every voter</p>
+ */
+@UtilityClass
+public class SelectionMasks {
+
+    /** Highest option index representable in a mask */
+    public final int MAX_INDEX = 7;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Set<Integer>[] SETS = new Set[1 << (MAX_INDEX + 1)];
+
+    static {
+        for (int mask = 0; mask < SETS.length; mask++) {
+            Integer[] idx = new Integer[Integer.bitCount(mask)];
+            int n = 0;
+            for (int m = mask; m != 0; m &= m - 1) idx[n++] = Integer.numberOfTrailingZeros(m);
+            SETS[mask] = Set.of(idx);
+        }
+    }
+
+    public int toMask(@NotNull Collection<Integer> indices) {
+        int mask = 0;
+        for (int i : indices) {
+            if (i < 0 || i > MAX_INDEX) {
+                throw new IllegalArgumentException("Option index out of mask range: " + i);
+            }
+            mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /** Shared immutable set for {@code mask}; callers must not expect a fresh instance */
+    public @NotNull Set<Integer> toSet(int mask) {
+        return SETS[mask & (SETS.length - 1)];
+    }
+
+    /** Canonical shared set with the same contents as {@code indices} */
+    public @NotNull Set<Integer> canonical(@NotNull Collection<Integer> indices) {
+        return toSet(toMask(indices));
+    }
+
+    public boolean contains(int mask, int index) {
+        return index >= 0 && index <= MAX_INDEX && (mask & (1 << index)) != 0;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryVotesTest {
+
+    private static final UUID VOTER_A = UUID.fromString("6f1c1f43-5c3e-4a39-9d2b-0c7a1f0e2b11");
+    private static final UUID VOTER_B = UUID.fromString("0b9e2a6d-7a41-4f7e-8c55-3d2f6a9e4c02");
+
+    @Test
+    void roundTripsSelections() throws IOException {
+        Map<UUID, Set<Integer>> votes = Map.of(VOTER_A, Set.of(0, 2), VOTER_B, Set.of(1));
+        byte[] bytes = snapshot(votes);
+
+        assertEquals(votes, read(bytes));
+    }
+
+    @Test
+    void truncatedSnapshotIsAnIoError() throws IOException {
+        byte[] bytes = snapshot(Map.of(VOTER_A, Set.of(0, 2), VOTER_B, Set.of(1)));
+
+        for (int len = 0; len < bytes.length; len++) {
+            byte[] truncated = Arrays.copyOf(bytes, len);
+            assertThrows(IOException.class, () -> read(truncated), "accepted " + len + " bytes");
+        }
+    }
+
+    @Test
+    void oversizedCountIsRejectedBeforeAllocating() throws IOException {
+        byte[] bytes = snapshot(Map.of(VOTER_A, Set.of(0)));
+        ByteBuffer.wrap(bytes).putInt(5, Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    private static byte[] snapshot(Map<UUID, Set<Integer>> votes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryVotes.writeSnapshot(out, votes);
+        return out.toByteArray();
+    }
+
+    private static Map<UUID, Set<Integer>> read(byte[] bytes) throws IOException {
+        return BinaryVotes.readSnapshot(new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+}
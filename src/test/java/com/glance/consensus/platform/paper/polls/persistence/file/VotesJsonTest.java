@@ -0,0 +1,52 @@
+package com.glance.consensus.platform.paper.polls.persistence.file;
+
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VotesJsonTest {
+
+    private static final UUID VOTER_A = UUID.fromString("6f1c1f43-5c3e-4a39-9d2b-0c7a1f0e2b11");
+    private static final UUID VOTER_B = UUID.fromString("0b9e2a6d-7a41-4f7e-8c55-3d2f6a9e4c02");
+
+    @Test
+    void roundTripsSelections() {
+        Map<UUID, Set<Integer>> votes = Map.of(VOTER_A, Set.of(0, 2), VOTER_B, Set.of(1));
+
+        assertEquals(votes, VotesJson.read(VotesJson.toJson(votes)));
+    }
+
+    @Test
+    void emptyDocumentReadsAsNoVotes() throws Exception {
+        assertTrue(VotesJson.read(new StringReader("")).isEmpty());
+        assertTrue(VotesJson.read(new StringReader("null")).isEmpty());
+    }
+
+    @Test
+    void truncatedFileIsAParseError() {
+        String json = VotesJson.toJson(Map.of(VOTER_A, Set.of(0, 2), VOTER_B, Set.of(1)));
+
+        // every cut short of the closing brace must be treated as corrupt, never as an io failure
+        for (int len = 1; len < json.length(); len++) {
+            String truncated = json.substring(0, len);
+            assertThrows(JsonParseException.class, () -> VotesJson.read(new StringReader(truncated)),
+                    () -> "accepted truncated input: " + truncated);
+        }
+    }
+
+    @Test
+    void outOfRangeIndexIsAParseError() {
+        String json = "{\"" + VOTER_A + "\": [99]}";
+
+        assertThrows(JsonParseException.class, () -> VotesJson.read(new StringReader(json)));
+    }
+
+}
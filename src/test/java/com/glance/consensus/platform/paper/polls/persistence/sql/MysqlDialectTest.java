@@ -0,0 +1,153 @@
+package com.glance.consensus.platform.paper.polls.persistence.sql;
+
+import com.glance.consensus.platform.paper.polls.persistence.config.PollStorageConfig.VoteSchema;
+import com.glance.consensus.platform.paper.polls.persistence.sql.dao.SqlDaos;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the MySQL statements against H2 in MySQL mode: schema bootstrap, vote layouts with their
+ * tallies, and the legacy to compact migration
+ */
+class MysqlDialectTest {
+
+    private static final Logger LOGGER = Logger.getLogger(MysqlDialectTest.class.getName());
+
+    private final UUID poll = UUID.randomUUID();
+    private final UUID voterA = UUID.randomUUID();
+    private final UUID voterB = UUID.randomUUID();
+
+    private String url;
+    private Jdbi jdbi;
+    private SqlDaos daos;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        jdbi = SqlBootstrap.configure(Jdbi.create(url));
+        daos = SqlBootstrap.daosFor(SqlBootstrap.dialectOf(url));
+    }
+
+    @Test
+    void h2InMysqlModeUsesTheMysqlStatements() {
+        assertEquals(SqlBootstrap.Dialect.MYSQL, SqlBootstrap.dialectOf(url));
+        assertEquals(SqlBootstrap.Dialect.MARIADB, SqlBootstrap.dialectOf("jdbc:h2:mem:polls;MODE=MariaDB"));
+        assertEquals("org.h2.Driver", SqlBootstrap.driverClassOf(url));
+        assertEquals(SqlDaos.MYSQL, daos);
+        assertThrows(IllegalArgumentException.class, () -> SqlBootstrap.dialectOf("jdbc:h2:mem:polls"));
+    }
+
+    @Test
+    void bootstrapIsRepeatable() {
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.COMPACT, true, LOGGER);
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.COMPACT, true, LOGGER);
+
+        insertPoll();
+        insertPoll(); // upsert path
+        assertEquals(1, count("polls"));
+    }
+
+    @Test
+    void compactRoundTripKeepsTalliesInStep() {
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.COMPACT, false, LOGGER);
+        insertPoll();
+
+        assertRoundTrip(new TalliedVoteTable(VoteTable.forSchema(VoteSchema.COMPACT, daos), daos.tallies()));
+    }
+
+    @Test
+    void legacyRoundTripKeepsTalliesInStep() {
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.LEGACY, false, LOGGER);
+        insertPoll();
+
+        assertRoundTrip(new TalliedVoteTable(VoteTable.forSchema(VoteSchema.LEGACY, daos), daos.tallies()));
+    }
+
+    @Test
+    void migrationKeepsLegacyRowsAndBlocksGoingBack() {
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.LEGACY, false, LOGGER);
+        insertPoll();
+        var legacy = new TalliedVoteTable(VoteTable.forSchema(VoteSchema.LEGACY, daos), daos.tallies());
+        jdbi.useTransaction(h -> legacy.replaceAll(h, List.of(
+            new VoteTable.Write(poll, voterA, 0b011),
+            new VoteTable.Write(poll, voterB, 0b100))));
+
+        SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.COMPACT, false, LOGGER);
+
+        var compact = VoteTable.forSchema(VoteSchema.COMPACT, daos);
+        assertEquals(Map.of(voterA, Set.of(0, 1), voterB, Set.of(2)), jdbi.withHandle(h -> compact.load(h, poll)));
+        assertEquals(3, count("voter_selection_legacy"));
+
+        assertThrows(IllegalStateException.class,
+                () -> SqlBootstrap.initialiseSchema(jdbi, daos, VoteSchema.LEGACY, false, LOGGER));
+    }
+
+    private void assertRoundTrip(TalliedVoteTable table) {
+        jdbi.useTransaction(h -> table.replaceAll(h, List.of(
+            new VoteTable.Write(poll, voterA, 0b011),
+            new VoteTable.Write(poll, voterB, 0b010))));
+
+        assertEquals(Map.of(voterA, Set.of(0, 1), voterB, Set.of(1)), jdbi.withHandle(h -> table.load(h, poll)));
+        assertEquals(Map.of(0, 1, 1, 2), tallies());
+
+        // single write, a batch that writes one voter twice, and a clear
+        jdbi.useTransaction(h -> table.replace(h, poll, voterA, 0b100));
+        jdbi.useTransaction(h -> table.replaceAll(h, List.of(
+            new VoteTable.Write(poll, voterB, 0b001),
+            new VoteTable.Write(poll, voterB, 0b101))));
+
+        assertEquals(0b100, (int) jdbi.withHandle(h -> table.mask(h, poll, voterA)));
+        assertEquals(Map.of(
+            new VoteTable.Voter(poll, voterA), 0b100,
+            new VoteTable.Voter(poll, voterB), 0b101
+        ), jdbi.withHandle(h -> table.masks(h, List.of(
+            new VoteTable.Write(poll, voterA, 0),
+            new VoteTable.Write(poll, voterB, 0)))));
+        assertEquals(Map.of(0, 1, 1, 0, 2, 2), tallies());
+
+        jdbi.useTransaction(h -> table.replace(h, poll, voterA, 0));
+        assertEquals(Map.of(voterB, Set.of(0, 2)), jdbi.withHandle(h -> table.load(h, poll)));
+        assertEquals(Map.of(0, 1, 1, 0, 2, 1), tallies());
+        assertEquals(Map.of(0, 1, 2, 1), jdbi.withHandle(h -> table.tallies(h, poll)));
+
+        List<UUID> streamed = new ArrayList<>();
+        jdbi.useHandle(h -> table.stream(h, List.of(poll), (pollId, voterId, mask) -> streamed.add(voterId)));
+        assertEquals(List.of(voterB), streamed);
+    }
+
+    private void insertPoll() {
+        long now = System.currentTimeMillis();
+        jdbi.useExtension(daos.polls(), dao -> dao.upsertPoll(
+            poll.toString(), "test", UUID.randomUUID().toString(), "Question?",
+            now, now + 60_000L, null, 0,
+            1, 3, 1, 1));
+    }
+
+    private int count(String table) {
+        return jdbi.withHandle(h -> h.createQuery("SELECT count(*) FROM " + table).mapTo(Integer.class).one());
+    }
+
+    private Map<Integer, Integer> tallies() {
+        Map<Integer, Integer> out = new HashMap<>();
+        jdbi.useHandle(h -> h.createQuery("SELECT option_idx, votes FROM poll_tallies WHERE poll_id = :pid")
+            .bind("pid", poll.toString())
+            .map((rs, ctx) -> Map.entry(rs.getInt(1), rs.getInt(2)))
+            .forEach(e -> out.put(e.getKey(), e.getValue())));
+        assertTrue(out.values().stream().allMatch(v -> v >= 0));
+        return out;
+    }
+
+}
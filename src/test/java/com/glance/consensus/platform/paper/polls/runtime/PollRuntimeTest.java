@@ -0,0 +1,99 @@
+package com.glance.consensus.platform.paper.polls.runtime;
+
+import com.glance.consensus.platform.paper.polls.domain.Poll;
+import com.glance.consensus.platform.paper.polls.domain.PollDefinition;
+import com.glance.consensus.platform.paper.polls.domain.PollOption;
+import com.glance.consensus.platform.paper.polls.domain.PollRules;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollRuntimeTest {
+
+    private static final int OPTIONS = 4;
+
+    @Test
+    void writesPublishTheirResults() {
+        PollRuntime rt = new PollRuntime(poll());
+        UUID voter = UUID.randomUUID();
+
+        rt.applySelection(voter, 0b0101);
+        ResultsSnapshot first = rt.results();
+        assertEquals(2, first.totalVotes());
+        assertSame(first, rt.results());
+
+        rt.applySelection(voter, 0b0010);
+        assertEquals(1, rt.results().votes(1));
+        assertEquals(0, rt.results().votes(0));
+    }
+
+    @Test
+    void snapshotsAreNeverTorn() throws InterruptedException {
+        PollRuntime rt = new PollRuntime(poll());
+        List<UUID> voters = new ArrayList<>();
+        for (int i = 0; i < 64; i++) voters.add(UUID.randomUUID());
+
+        // every voter holds exactly one option, so a consistent read has as many votes as voters
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread w = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while (!stop.get()) {
+                    rt.applySelection(voters.get(rnd.nextInt(voters.size())), 1 << rnd.nextInt(OPTIONS));
+                }
+            });
+            w.start();
+            writers.add(w);
+        }
+
+        long deadline = System.nanoTime() + 500_000_000L;
+        while (System.nanoTime() < deadline) {
+            ResultsSnapshot s = rt.results();
+            assertEquals(s.voterCount(), s.totalVotes(), "torn snapshot at version " + s.version());
+        }
+
+        stop.set(true);
+        for (Thread w : writers) w.join();
+
+        ResultsSnapshot last = rt.results();
+        assertEquals(rt.voterCount(), last.totalVotes());
+        int sum = 0;
+        for (int i = 0; i < OPTIONS; i++) sum += rt.votes(i);
+        assertEquals(sum, last.totalVotes());
+    }
+
+    @Test
+    void talliesOnlyRuntimeReadsViewersSeparately() {
+        PollRuntime rt = new PollRuntime(poll());
+        UUID viewer = UUID.randomUUID();
+        rt.bootstrapTallies(Map.of(0, 5, 3, 2));
+
+        assertEquals(7, rt.results().totalVotes());
+        assertTrue(rt.needsViewerSelection(viewer));
+
+        rt.putViewerSelection(viewer, 0b1000);
+        assertEquals(0b1000, rt.selectionMask(viewer));
+        assertEquals(2, rt.results().votes(3));
+    }
+
+    private static Poll poll() {
+        List<PollOption> options = new ArrayList<>();
+        for (int i = 0; i < OPTIONS; i++) options.add(new PollOption(i, "Option " + i, null));
+        Instant now = Instant.now();
+        PollDefinition def = new PollDefinition(UUID.randomUUID(), "test", UUID.randomUUID(), "Question?",
+                now, now.plusSeconds(60), options, new PollRules(true, OPTIONS, true, true));
+        return new Poll(def, null);
+    }
+
+}